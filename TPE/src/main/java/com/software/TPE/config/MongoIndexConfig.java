@@ -0,0 +1,59 @@
+package com.software.TPE.config;
+
+import com.software.TPE.repository.PostSearchIndex;
+import com.software.TPE.repository.UserNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexConfig {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            try {
+                resolver.resolveIndexFor(entity.getType()).forEach(indexOps::createIndex);
+            } catch (DataAccessResourceFailureException ex) {
+                log.warn("No se pudieron crear los índices: MongoDB no está disponible: {}", ex.getMessage());
+                return;
+            } catch (DataAccessException ex) {
+                log.warn("No se pudieron crear los índices de {}: {}", entity.getCollection(), ex.getMessage());
+            }
+        }
+        try {
+            PostSearchIndex.ensure(mongoTemplate);
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo crear el índice de búsqueda de noticias: {}", ex.getMessage());
+        }
+        try {
+            long normalized = UserNames.backfill(mongoTemplate);
+            if (normalized > 0) {
+                log.info("Se normalizaron los nombres de {} usuarios para la búsqueda", normalized);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("No se pudieron normalizar los nombres de usuarios: {}", ex.getMessage());
+        }
+    }
+}
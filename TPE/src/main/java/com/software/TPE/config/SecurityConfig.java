@@ -1,13 +1,21 @@
 package com.software.TPE.config;
+import com.software.TPE.model.UserRole;
+import com.software.TPE.service.AuthTokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -18,24 +26,48 @@ import java.util.List;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final String ADMIN = UserRole.ADMIN.name();
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthTokenService authTokenService)
+            throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(authTokenService),
+                        UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/users/login", "/api/users/register").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/upload").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/posts/pendientes").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/posts/bulk-review").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/posts/*").hasRole(ADMIN)
+                        .requestMatchers(request -> HttpMethod.GET.matches(request.getMethod())
+                                && "/api/comments".equals(request.getServletPath())
+                                && !StringUtils.hasText(request.getParameter("postId"))).hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/comments/bulk-delete").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/api/comments/*").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.GET, "/api/users").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/users/*/role", "/api/users/*").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.GET, "/api/solicitudes").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/solicitudes/*").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/advertisements/bulk-review").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/advertisements/*").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/api/advertisements/*").hasRole(ADMIN)
+                        .requestMatchers("/actuator/metrics/**").hasRole(ADMIN)
                         .anyRequest().permitAll()
                 )
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .httpBasic(Customizer.withDefaults());
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -3,6 +3,8 @@ package com.software.TPE.controller;
 import com.software.TPE.dto.AdvertisementRequest;
 import com.software.TPE.dto.AdvertisementResponse;
 import com.software.TPE.dto.AdvertisementUpdateRequest;
+import com.software.TPE.dto.BulkAdvertisementUpdateRequest;
+import com.software.TPE.dto.BulkItemResponse;
 import com.software.TPE.service.AdvertisementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,7 @@ import java.util.List;
 public class AdvertisementController {
 
     private final AdvertisementService advertisementService;
+    private final ConditionalResponses conditionalResponses;
 
     @PostMapping
     public ResponseEntity<AdvertisementResponse> create(@Valid @RequestBody AdvertisementRequest request) {
@@ -25,8 +28,15 @@ public class AdvertisementController {
     }
 
     @GetMapping
-    public ResponseEntity<List<AdvertisementResponse>> findAll() {
-        return ResponseEntity.ok(advertisementService.findAll());
+    public ResponseEntity<List<AdvertisementResponse>> findAll(@RequestParam(required = false) String fields) {
+        List<AdvertisementResponse> advertisements = advertisementService.findAll(fields);
+        return conditionalResponses.ok(advertisements, advertisements,
+                AdvertisementResponse::id, AdvertisementResponse::updatedAt, fields);
+    }
+
+    @PostMapping("/bulk-review")
+    public ResponseEntity<List<BulkItemResponse>> updateBulk(@Valid @RequestBody BulkAdvertisementUpdateRequest request) {
+        return ResponseEntity.ok(advertisementService.updateStatuses(request));
     }
 
     @PutMapping("/{adId}")
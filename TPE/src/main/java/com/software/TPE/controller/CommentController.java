@@ -1,7 +1,10 @@
 package com.software.TPE.controller;
 
+import com.software.TPE.dto.BulkDeleteRequest;
+import com.software.TPE.dto.BulkItemResponse;
 import com.software.TPE.dto.CommentRequest;
 import com.software.TPE.dto.CommentResponse;
+import com.software.TPE.dto.CursorPage;
 import com.software.TPE.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +20,7 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final ConditionalResponses conditionalResponses;
 
     @PostMapping
     public ResponseEntity<CommentResponse> create(@Valid @RequestBody CommentRequest request) {
@@ -24,11 +28,31 @@ public class CommentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CommentResponse>> findAll(@RequestParam(required = false) String postId) {
-        if (postId != null && !postId.isBlank()) {
-            return ResponseEntity.ok(commentService.findByPost(postId));
+    public ResponseEntity<CursorPage<CommentResponse>> findAll(@RequestParam(required = false) String postId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) String fields) {
+        if (postId == null || postId.isBlank()) {
+            CursorPage<CommentResponse> page = commentService.findAll(cursor, limit, fields);
+            return conditionalResponses.privatePage(page, CommentResponse::id, CommentResponse::updatedAt, fields);
         }
-        return ResponseEntity.ok(commentService.findAll());
+        CursorPage<CommentResponse> page = commentService.findByPost(postId, cursor, limit, fields);
+        return conditionalResponses.page(page, CommentResponse::id, CommentResponse::updatedAt, fields);
+    }
+
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<CursorPage<CommentResponse>> findReplies(@PathVariable String commentId,
+                                                                   @RequestParam(required = false) Integer depth,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   @RequestParam(required = false) String fields) {
+        CursorPage<CommentResponse> page = commentService.findReplies(commentId, depth, cursor, limit, fields);
+        return conditionalResponses.page(page, CommentResponse::id, CommentResponse::updatedAt, fields);
+    }
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<List<BulkItemResponse>> deleteBulk(@Valid @RequestBody BulkDeleteRequest request) {
+        return ResponseEntity.ok(commentService.deleteAll(request));
     }
 
     @DeleteMapping("/{commentId}")
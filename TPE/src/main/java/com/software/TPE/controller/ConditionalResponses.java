@@ -0,0 +1,87 @@
+package com.software.TPE.controller;
+
+import com.software.TPE.dto.CursorPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+@Component
+public class ConditionalResponses {
+
+    private final CacheControl cacheControl;
+    private final CacheControl privateCacheControl = CacheControl.noCache().cachePrivate();
+
+    public ConditionalResponses(@Value("${http.cache.max-age:PT0S}") Duration maxAge,
+                                @Value("${http.cache.shared-max-age:PT30S}") Duration sharedMaxAge) {
+        this.cacheControl = CacheControl.maxAge(maxAge)
+                .sMaxAge(sharedMaxAge)
+                .cachePublic();
+    }
+
+    public <B> ResponseEntity<B> ok(B body, String id, LocalDateTime modifiedAt) {
+        return build(body, id + "@" + modifiedAt, modifiedAt, cacheControl);
+    }
+
+    public <B, T> ResponseEntity<B> ok(B body, List<T> items,
+                                       Function<T, String> id,
+                                       Function<T, LocalDateTime> modifiedAt,
+                                       String variant) {
+        return build(body, items, id, modifiedAt, Objects.toString(variant, ""), cacheControl);
+    }
+
+    public <T> ResponseEntity<CursorPage<T>> page(CursorPage<T> page,
+                                                  Function<T, String> id,
+                                                  Function<T, LocalDateTime> modifiedAt,
+                                                  String variant) {
+        return build(page, page.items(), id, modifiedAt, pageVariant(page, variant), cacheControl);
+    }
+
+    public <T> ResponseEntity<CursorPage<T>> privatePage(CursorPage<T> page,
+                                                         Function<T, String> id,
+                                                         Function<T, LocalDateTime> modifiedAt,
+                                                         String variant) {
+        return build(page, page.items(), id, modifiedAt, pageVariant(page, variant), privateCacheControl);
+    }
+
+    private String pageVariant(CursorPage<?> page, String variant) {
+        return Objects.toString(variant, "") + "#" + page.items().size() + "#" + page.nextCursor();
+    }
+
+    private <B, T> ResponseEntity<B> build(B body, List<T> items,
+                                           Function<T, String> id,
+                                           Function<T, LocalDateTime> modifiedAt,
+                                           String variant,
+                                           CacheControl cacheControl) {
+        StringBuilder version = new StringBuilder(variant);
+        LocalDateTime lastModified = null;
+        for (T item : items) {
+            LocalDateTime itemModifiedAt = modifiedAt.apply(item);
+            version.append('|').append(id.apply(item)).append('@').append(itemModifiedAt);
+            if (itemModifiedAt != null && (lastModified == null || itemModifiedAt.isAfter(lastModified))) {
+                lastModified = itemModifiedAt;
+            }
+        }
+        return build(body, version.toString(), lastModified, cacheControl);
+    }
+
+    private <B> ResponseEntity<B> build(B body, String version, LocalDateTime lastModified,
+                                        CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)))
+                .cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified.atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(body);
+    }
+}
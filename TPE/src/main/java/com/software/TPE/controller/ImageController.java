@@ -0,0 +1,43 @@
+package com.software.TPE.controller;
+
+import com.software.TPE.dto.ImageVariant;
+import com.software.TPE.exception.ResourceNotFoundException;
+import com.software.TPE.service.ImageDerivativeService;
+import com.software.TPE.service.UploadMigration;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ImageDerivativeService imageDerivativeService;
+    private final UploadResponses uploadResponses;
+    private final UploadMigration uploadMigration;
+
+    @GetMapping("/uploads/{*path}")
+    public void image(@PathVariable String path, @RequestParam(required = false) Integer w,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String relativePath = path.substring(1);
+        Optional<ImageVariant> resolved = imageDerivativeService.resolve(relativePath, w);
+        if (resolved.isEmpty()) {
+            String migrated = uploadMigration.findMigratedPath(relativePath)
+                    .orElseThrow(() -> new ResourceNotFoundException("Imagen no encontrada"));
+            String query = request.getQueryString();
+            response.setStatus(HttpServletResponse.SC_MOVED_PERMANENTLY);
+            response.setHeader(HttpHeaders.LOCATION, "/uploads/" + migrated + (query == null ? "" : "?" + query));
+            return;
+        }
+        ImageVariant image = resolved.get();
+        uploadResponses.serve(relativePath, image, w != null && image.derivative() == null, request, response);
+    }
+}
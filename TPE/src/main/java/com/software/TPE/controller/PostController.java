@@ -1,14 +1,23 @@
 package com.software.TPE.controller;
 
+import com.software.TPE.dto.BulkItemResponse;
+import com.software.TPE.dto.BulkReviewPostRequest;
+import com.software.TPE.dto.CategoryCountResponse;
 import com.software.TPE.dto.CreatePostRequest;
+import com.software.TPE.dto.CursorPage;
+import com.software.TPE.dto.MostViewedPostResponse;
 import com.software.TPE.dto.PostResponse;
 import com.software.TPE.dto.ReviewPostRequest;
 import com.software.TPE.service.PostService;
+import com.software.TPE.service.PostViewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import com.software.TPE.service.PostEventBroadcaster;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,6 +27,9 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final ConditionalResponses conditionalResponses;
+    private final PostEventBroadcaster postEventBroadcaster;
+    private final PostViewService postViewService;
 
     @PostMapping
     public ResponseEntity<PostResponse> create(@Valid @RequestBody CreatePostRequest request) {
@@ -25,28 +37,68 @@ public class PostController {
     }
 
     @GetMapping
-    public ResponseEntity<List<PostResponse>> findAll() {
-        return ResponseEntity.ok(postService.findAll());
+    public ResponseEntity<List<PostResponse>> findAll(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(postService.findAll(fields));
     }
 
     @GetMapping("/publicadas")
-    public ResponseEntity<List<PostResponse>> findPublished() {
-        return ResponseEntity.ok(postService.findPublished());
+    public ResponseEntity<CursorPage<PostResponse>> findPublished(@RequestParam(required = false) String category,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(required = false) String fields) {
+        CursorPage<PostResponse> page = postService.findPublished(category, cursor, limit, fields);
+        return conditionalResponses.page(page,
+                item -> item.id() + "#" + item.commentCount(), PostResponse::updatedAt, fields);
+    }
+
+    @GetMapping("/publicadas/categorias")
+    public ResponseEntity<List<CategoryCountResponse>> findPublishedCategories() {
+        return ResponseEntity.ok(postService.findPublishedCategories());
     }
 
     @GetMapping("/pendientes")
-    public ResponseEntity<List<PostResponse>> findPending() {
-        return ResponseEntity.ok(postService.findPending());
+    public ResponseEntity<CursorPage<PostResponse>> findPending(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(postService.findPending(cursor, limit, fields));
     }
 
     @GetMapping("/escritor/{authorId}")
-    public ResponseEntity<List<PostResponse>> findByAuthor(@PathVariable String authorId) {
-        return ResponseEntity.ok(postService.findByAuthor(authorId));
+    public ResponseEntity<CursorPage<PostResponse>> findByAuthor(@PathVariable String authorId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(postService.findByAuthor(authorId, cursor, limit, fields));
+    }
+
+    @GetMapping("/mas-leidas")
+    public ResponseEntity<List<MostViewedPostResponse>> findMostViewed(@RequestParam(required = false) Integer hours,
+                                                                       @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(postViewService.findMostViewed(hours, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return postEventBroadcaster.subscribe(lastEventId);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<PostResponse>> search(@RequestParam("q") String query,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(postService.search(query, cursor, limit));
     }
 
     @GetMapping("/{postId}")
     public ResponseEntity<PostResponse> findById(@PathVariable String postId) {
-        return ResponseEntity.ok(postService.getById(postId));
+        PostResponse post = postService.getById(postId);
+        postViewService.record(postId);
+        return conditionalResponses.ok(post, post.id() + "#" + post.commentCount(), post.updatedAt());
+    }
+
+    @PostMapping("/bulk-review")
+    public ResponseEntity<List<BulkItemResponse>> reviewBulk(@Valid @RequestBody BulkReviewPostRequest request) {
+        return ResponseEntity.ok(postService.reviewPosts(request));
     }
 
     @PutMapping("/{postId}")
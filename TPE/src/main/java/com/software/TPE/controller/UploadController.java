@@ -2,7 +2,9 @@ package com.software.TPE.controller;
 
 import com.software.TPE.dto.UploadResponse;
 import com.software.TPE.service.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
@@ -17,9 +21,13 @@ public class UploadController {
 
     private final FileStorageService fileStorageService;
 
-    @PostMapping("/upload")
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<UploadResponse> upload(@RequestParam("image") MultipartFile file) {
-        String imageUrl = fileStorageService.store(file);
-        return ResponseEntity.ok(new UploadResponse(imageUrl));
+        return ResponseEntity.ok(fileStorageService.store(file));
+    }
+
+    @PostMapping(value = "/upload", consumes = {"image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<UploadResponse> uploadStream(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(fileStorageService.store(request.getInputStream(), request.getContentLengthLong()));
     }
 }
@@ -2,14 +2,13 @@ package com.software.TPE.controller;
 
 import com.software.TPE.dto.*;
 import com.software.TPE.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -18,19 +17,27 @@ public class UserController {
     private final UserService userService;
 
     @PostMapping("/register")
-    public ResponseEntity<UserDto> register(@Valid @RequestBody UserRegistrationRequest request) {
-        UserDto user = userService.register(request);
+    public ResponseEntity<UserDto> register(@Valid @RequestBody UserRegistrationRequest request,
+                                            HttpServletRequest servletRequest) {
+        UserDto user = userService.register(request, servletRequest.getRemoteAddr());
         return ResponseEntity.status(HttpStatus.CREATED).body(user);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(userService.login(request));
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                               HttpServletRequest servletRequest) {
+        return ResponseEntity.ok(userService.login(request, servletRequest.getRemoteAddr()));
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> findAll() {
-        return ResponseEntity.ok(userService.findAll());
+    public ResponseEntity<CursorPage<UserDto>> findAll(@RequestParam(required = false) String role,
+                                                       @RequestParam(required = false) String status,
+                                                       @RequestParam(required = false) String q,
+                                                       @RequestParam(required = false) String sort,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(userService.findDirectory(role, status, q, sort, cursor, limit, fields));
     }
 
     @GetMapping("/{userId}")
@@ -18,6 +18,7 @@ public record AdvertisementResponse(
         AdvertisementStatus status,
         String rejectionReason,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long version
 ) {
 }
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 public record AdvertisementUpdateRequest(
         @NotNull(message = "El estado es obligatorio")
         AdvertisementStatus status,
-        String rejectionReason
+        String rejectionReason,
+        Long version
 ) {
 }
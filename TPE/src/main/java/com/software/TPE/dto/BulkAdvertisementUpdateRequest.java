@@ -0,0 +1,21 @@
+package com.software.TPE.dto;
+
+import com.software.TPE.model.AdvertisementStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+
+public record BulkAdvertisementUpdateRequest(
+        @NotEmpty(message = "Debe indicar al menos una publicidad")
+        @Size(max = 500, message = "No se pueden moderar más de 500 publicidades a la vez")
+        List<String> ids,
+
+        @NotNull(message = "El estado es obligatorio")
+        AdvertisementStatus status,
+        String rejectionReason,
+        Map<String, Long> versions
+) {
+}
@@ -0,0 +1,13 @@
+package com.software.TPE.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkDeleteRequest(
+        @NotEmpty(message = "Debe indicar al menos un elemento")
+        @Size(max = 500, message = "No se pueden eliminar más de 500 elementos a la vez")
+        List<String> ids
+) {
+}
@@ -0,0 +1,8 @@
+package com.software.TPE.dto;
+
+public record BulkItemResponse(
+        String id,
+        boolean success,
+        String message
+) {
+}
@@ -0,0 +1,22 @@
+package com.software.TPE.dto;
+
+import com.software.TPE.model.PostStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+
+public record BulkReviewPostRequest(
+        @NotEmpty(message = "Debe indicar al menos una noticia")
+        @Size(max = 500, message = "No se pueden moderar más de 500 noticias a la vez")
+        List<String> ids,
+
+        @NotNull(message = "El estado es obligatorio")
+        PostStatus status,
+        String feedback,
+        String deleteReason,
+        Map<String, Long> versions
+) {
+}
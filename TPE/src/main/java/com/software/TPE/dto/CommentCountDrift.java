@@ -0,0 +1,8 @@
+package com.software.TPE.dto;
+
+public record CommentCountDrift(
+        String postId,
+        Long stored,
+        long counted
+) {
+}
@@ -13,6 +13,8 @@ public record CommentRequest(
         String userName,
 
         @NotBlank(message = "El contenido del comentario es obligatorio")
-        String content
+        String content,
+
+        String parentId
 ) {
 }
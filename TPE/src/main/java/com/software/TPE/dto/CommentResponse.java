@@ -5,9 +5,13 @@ import java.time.LocalDateTime;
 public record CommentResponse(
         String id,
         String postId,
+        String parentId,
+        int depth,
+        long replyCount,
         String userId,
         String userName,
         String content,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
 ) {
 }
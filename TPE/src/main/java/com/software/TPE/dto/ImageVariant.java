@@ -0,0 +1,9 @@
+package com.software.TPE.dto;
+
+import java.nio.file.Path;
+
+public record ImageVariant(
+        Path file,
+        String derivative
+) {
+}
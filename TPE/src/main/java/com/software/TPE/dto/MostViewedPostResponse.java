@@ -0,0 +1,14 @@
+package com.software.TPE.dto;
+
+import java.time.LocalDateTime;
+
+public record MostViewedPostResponse(
+        String postId,
+        String title,
+        String authorName,
+        String category,
+        String imageUrl,
+        LocalDateTime createdAt,
+        long views
+) {
+}
@@ -0,0 +1,40 @@
+package com.software.TPE.dto;
+
+import com.software.TPE.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record PageCursor(
+        LocalDateTime createdAt,
+        String id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == raw.length() - 1) {
+                throw new BadRequestException("Cursor de paginación inválido");
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    raw.substring(separatorIndex + 1)
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.software.TPE.dto;
+
+import java.time.LocalDateTime;
+
+public record PostEventResponse(
+        String postId,
+        String title,
+        String authorName,
+        String category,
+        String imageUrl,
+        LocalDateTime createdAt
+) {
+}
@@ -15,7 +15,9 @@ public record PostResponse(
         String feedback,
         String deleteReason,
         PostStatus status,
+        long commentCount,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long version
 ) {
 }
@@ -0,0 +1,7 @@
+package com.software.TPE.dto;
+
+public record PostViewCount(
+        String postId,
+        long views
+) {
+}
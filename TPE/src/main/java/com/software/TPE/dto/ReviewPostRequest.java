@@ -7,6 +7,7 @@ public record ReviewPostRequest(
         @NotNull(message = "El estado es obligatorio")
         PostStatus status,
         String feedback,
-        String deleteReason
+        String deleteReason,
+        Long version
 ) {
 }
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 
 public record UpdateUserRoleRequest(
         @NotNull(message = "El rol es obligatorio")
-        UserRole role
+        UserRole role,
+        Long version
 ) {
 }
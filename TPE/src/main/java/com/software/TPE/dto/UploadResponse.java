@@ -1,4 +1,9 @@
 package com.software.TPE.dto;
 
-public record UploadResponse(String imageUrl) {
+public record UploadResponse(
+        String imageUrl,
+        String contentType,
+        long size,
+        String sha256
+) {
 }
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 
 public record UserActionRequest(
         @NotBlank(message = "La acción es obligatoria")
-        String accion
+        String accion,
+        Long version
 ) {
 }
@@ -0,0 +1,11 @@
+package com.software.TPE.dto;
+
+import com.software.TPE.model.UserRole;
+import com.software.TPE.model.UserStatus;
+
+public record UserDirectoryFilter(
+        UserRole role,
+        UserStatus status,
+        String prefix
+) {
+}
@@ -12,6 +12,7 @@ public record UserDto(
         UserRole role,
         UserStatus status,
         LocalDateTime createdAt,
-        LocalDateTime lastLoginAt
+        LocalDateTime lastLoginAt,
+        Long version
 ) {
 }
@@ -9,6 +9,7 @@ public record WriterApplicationResponse(
         String userEmail,
         String motivo,
         String estado,
-        LocalDateTime fechaSolicitud
+        LocalDateTime fechaSolicitud,
+        Long version
 ) {
 }
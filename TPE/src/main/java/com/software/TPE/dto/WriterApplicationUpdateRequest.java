@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 
 public record WriterApplicationUpdateRequest(
         @NotNull(message = "El estado es obligatorio")
-        WriterApplicationStatus estado
+        WriterApplicationStatus estado,
+        Long version
 ) {
 }
@@ -7,11 +7,14 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "advertisements")
+@CompoundIndex(name = "status_createdAt", def = "{'status': 1, 'createdAt': -1}")
 @Data
 @Builder
 @NoArgsConstructor
@@ -47,4 +50,7 @@ public class Advertisement {
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
@@ -6,11 +6,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "comments")
+@CompoundIndexes({
+        @CompoundIndex(name = "postId_parentId_createdAt_id", def = "{'postId': 1, 'parentId': 1, 'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "postId_path", def = "{'postId': 1, 'path': 1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,6 +28,14 @@ public class Comment {
 
     private String postId;
 
+    private String parentId;
+
+    private String path;
+
+    private int depth;
+
+    private long replyCount;
+
     private String userId;
 
     private String userName;
@@ -29,4 +44,6 @@ public class Comment {
 
     @CreatedDate
     private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,20 @@
+package com.software.TPE.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "legacy_uploads")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LegacyUpload {
+    @Id
+    private String id;
+
+    private String path;
+}
@@ -7,11 +7,20 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDateTime;
 
-@Document(collection = "posts")
+@Document(collection = "posts", language = "spanish")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_category_createdAt_id", def = "{'status': 1, 'category': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "authorId_createdAt_id", def = "{'authorId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -38,9 +47,17 @@ public class Post {
 
     private PostStatus status;
 
+    private long commentCount;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    @TextScore
+    private Double score;
+
+    @Version
+    private Long version;
 }
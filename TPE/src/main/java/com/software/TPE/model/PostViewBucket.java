@@ -0,0 +1,30 @@
+package com.software.TPE.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "post_views")
+@CompoundIndex(name = "hour_postId", def = "{'hour': 1, 'postId': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostViewBucket {
+    @Id
+    private String id;
+
+    private String postId;
+
+    @Indexed(name = "hour_ttl", expireAfter = "30d")
+    private LocalDateTime hour;
+
+    private long views;
+}
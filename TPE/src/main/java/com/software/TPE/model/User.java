@@ -6,12 +6,21 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "users")
+@CompoundIndexes({
+        @CompoundIndex(name = "role_status_createdAt_id", def = "{'role': 1, 'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "email_id", def = "{'email': 1, '_id': 1}"),
+        @CompoundIndex(name = "nameKey_id", def = "{'nameKey': 1, '_id': 1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,6 +32,8 @@ public class User {
 
     private String name;
 
+    private String nameKey;
+
     @Indexed(unique = true)
     private String email;
 
@@ -36,5 +47,8 @@ public class User {
     private LocalDateTime createdAt;
 
     private LocalDateTime lastLoginAt;
+
+    @Version
+    private Long version;
 }
-
+
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -31,4 +32,7 @@ public class WriterApplication {
 
     @CreatedDate
     private LocalDateTime fechaSolicitud;
+
+    @Version
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.Advertisement;
+import com.software.TPE.model.AdvertisementStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface AdvertisementRepositoryCustom {
+    List<Advertisement> findAllWithFields(Set<String> fields);
+    Optional<Advertisement> updateStatus(String id, Long expectedVersion, AdvertisementStatus status,
+                                         String rejectionReason, LocalDateTime updatedAt);
+    boolean removeById(String id);
+    long replaceUploadPaths(Map<String, String> newPaths);
+    void forEachUploadUrl(Consumer<String> consumer);
+    void forEachUploadUrlCreatedSince(LocalDateTime since, Consumer<String> consumer);
+}
@@ -0,0 +1,63 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.Advertisement;
+import com.software.TPE.model.AdvertisementStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class AdvertisementRepositoryCustomImpl implements AdvertisementRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Advertisement> findAllWithFields(Set<String> fields) {
+        return mongoTemplate.find(QueryFields.include(new Query(), fields, "updatedAt"), Advertisement.class);
+    }
+
+    @Override
+    public Optional<Advertisement> updateStatus(String id, Long expectedVersion, AdvertisementStatus status,
+                                                String rejectionReason, LocalDateTime updatedAt) {
+        Update update = new Update()
+                .set("status", status)
+                .set("rejectionReason", rejectionReason)
+                .set("updatedAt", updatedAt);
+        return Optional.ofNullable(mongoTemplate.findAndModify(VersionedUpdates.byId(id, expectedVersion),
+                VersionedUpdates.bump(update), VersionedUpdates.returnNew(), Advertisement.class));
+    }
+
+    @Override
+    public boolean removeById(String id) {
+        return mongoTemplate.remove(new Query(Criteria.where("id").is(id)), Advertisement.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public long replaceUploadPaths(Map<String, String> newPaths) {
+        return ImageReferences.replaceUploadPaths(mongoTemplate, Advertisement.class, newPaths);
+    }
+
+    @Override
+    public void forEachUploadUrl(Consumer<String> consumer) {
+        ImageReferences.forEachUploadUrl(mongoTemplate, Advertisement.class, referencingImages(), consumer);
+    }
+
+    @Override
+    public void forEachUploadUrlCreatedSince(LocalDateTime since, Consumer<String> consumer) {
+        ImageReferences.forEachUploadUrl(mongoTemplate, Advertisement.class,
+                referencingImages().and(KeysetCriteria.CREATED_AT).gte(since), consumer);
+    }
+
+    private Criteria referencingImages() {
+        return Criteria.where("status").ne(AdvertisementStatus.REJECTED);
+    }
+}
@@ -0,0 +1,40 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.Comment;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.ZoneOffset;
+
+public final class CommentPaths {
+
+    public static final int MAX_DEPTH = 20;
+
+    private static final String SEPARATOR = "/";
+    private static final String AFTER_SEPARATOR = "0";
+
+    private CommentPaths() {
+    }
+
+    public static String pathOf(Comment comment) {
+        return comment.getPath() != null ? comment.getPath() : segment(comment);
+    }
+
+    public static String childPath(String parentPath, Comment child) {
+        return parentPath + SEPARATOR + segment(child);
+    }
+
+    static Criteria descendantsOf(String path) {
+        return descendantsOf(path, null);
+    }
+
+    static Criteria descendantsOf(String path, String afterPath) {
+        Criteria range = Criteria.where("path");
+        range = afterPath != null ? range.gt(afterPath) : range.gte(path + SEPARATOR);
+        return range.lt(path + AFTER_SEPARATOR);
+    }
+
+    private static String segment(Comment comment) {
+        long millis = comment.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return String.format("%012x", millis) + comment.getId();
+    }
+}
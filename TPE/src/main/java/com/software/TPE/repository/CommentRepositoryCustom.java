@@ -0,0 +1,23 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.PageCursor;
+import com.software.TPE.model.Comment;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface CommentRepositoryCustom {
+    List<Comment> findPage(PageCursor cursor, int limit, Set<String> fields);
+    List<Comment> findPageByPostId(String postId, PageCursor cursor, int limit, Set<String> fields);
+    List<Comment> findThreadPage(String postId, String path, String afterPath, int maxDepth, int limit,
+                                 Set<String> fields);
+    Optional<Comment> findThreadRefById(String id);
+    List<Comment> findThreadRefsByIds(Collection<String> ids);
+    Optional<Comment> findAndDeleteById(String id);
+    long deleteDescendants(String postId, Collection<String> paths);
+    void incrementReplyCounts(Map<String, Long> deltas);
+    List<Comment> insertUnordered(List<Comment> comments);
+}
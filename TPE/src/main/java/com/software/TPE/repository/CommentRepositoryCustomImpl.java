@@ -0,0 +1,124 @@
+package com.software.TPE.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.software.TPE.dto.PageCursor;
+import com.software.TPE.model.Comment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.util.MongoDbErrorCodes;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Comment> findPage(PageCursor cursor, int limit, Set<String> fields) {
+        Query query = KeysetCriteria.page(new Query(), cursor, Sort.Direction.DESC, limit);
+        return mongoTemplate.find(QueryFields.include(query, fields, KeysetCriteria.CREATED_AT, "updatedAt"), Comment.class);
+    }
+
+    @Override
+    public List<Comment> findPageByPostId(String postId, PageCursor cursor, int limit, Set<String> fields) {
+        Query query = KeysetCriteria.page(new Query(Criteria.where("postId").is(postId).and("parentId").is(null)),
+                cursor, Sort.Direction.ASC, limit);
+        return mongoTemplate.find(QueryFields.include(query, fields, KeysetCriteria.CREATED_AT, "updatedAt"), Comment.class);
+    }
+
+    @Override
+    public List<Comment> findThreadPage(String postId, String path, String afterPath, int maxDepth, int limit,
+                                        Set<String> fields) {
+        Query query = new Query(Criteria.where("postId").is(postId))
+                .addCriteria(CommentPaths.descendantsOf(path, afterPath))
+                .addCriteria(Criteria.where("depth").lte(maxDepth))
+                .with(Sort.by(Sort.Direction.ASC, "path"))
+                .limit(limit);
+        return mongoTemplate.find(QueryFields.include(query, fields, "path", "createdAt", "updatedAt"), Comment.class);
+    }
+
+    @Override
+    public Optional<Comment> findThreadRefById(String id) {
+        Query query = new Query(Criteria.where("id").is(id));
+        includeThreadRef(query);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Comment.class));
+    }
+
+    @Override
+    public List<Comment> findThreadRefsByIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("id").in(ids));
+        includeThreadRef(query);
+        return mongoTemplate.find(query, Comment.class);
+    }
+
+    @Override
+    public Optional<Comment> findAndDeleteById(String id) {
+        Query query = new Query(Criteria.where("id").is(id));
+        includeThreadRef(query);
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, Comment.class));
+    }
+
+    @Override
+    public long deleteDescendants(String postId, Collection<String> paths) {
+        if (paths.isEmpty()) {
+            return 0;
+        }
+        Criteria[] ranges = paths.stream().map(CommentPaths::descendantsOf).toArray(Criteria[]::new);
+        Query query = new Query(Criteria.where("postId").is(postId)).addCriteria(new Criteria().orOperator(ranges));
+        return mongoTemplate.remove(query, Comment.class).getDeletedCount();
+    }
+
+    @Override
+    public void incrementReplyCounts(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime updatedAt = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+        deltas.forEach((commentId, delta) -> bulk.updateOne(
+                new Query(Criteria.where("id").is(commentId)),
+                new Update().inc("replyCount", delta).set("updatedAt", updatedAt)
+        ));
+        bulk.execute();
+    }
+
+    @Override
+    public List<Comment> insertUnordered(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return List.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+        bulk.insert(comments);
+        try {
+            bulk.execute();
+            return List.of();
+        } catch (DataAccessException ex) {
+            if (!(ex.getCause() instanceof MongoBulkWriteException bulkException)
+                    || bulkException.getWriteConcernError() != null) {
+                throw ex;
+            }
+            return bulkException.getWriteErrors().stream()
+                    .filter(error -> !MongoDbErrorCodes.isDuplicateKeyCode(error.getCode()))
+                    .map(BulkWriteError::getIndex)
+                    .map(comments::get)
+                    .toList();
+        }
+    }
+
+    private void includeThreadRef(Query query) {
+        query.fields().include("id", "postId", "parentId", "path", "depth", "replyCount", "createdAt");
+    }
+}
@@ -0,0 +1,69 @@
+package com.software.TPE.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+final class ImageReferences {
+
+    static final String IMAGE_URL = "imageUrl";
+    private static final String UPLOADS_PREFIX = "/uploads/";
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private ImageReferences() {
+    }
+
+    static long replaceUploadPaths(MongoTemplate mongoTemplate, Class<?> entityClass, Map<String, String> newPaths) {
+        if (newPaths.isEmpty()) {
+            return 0;
+        }
+        Query query = new Query(Criteria.where(IMAGE_URL).regex(Pattern.quote(UPLOADS_PREFIX)))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        query.fields().include(IMAGE_URL);
+        long updated = 0;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(entityClass))) {
+            Iterator<Document> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                Document document = iterator.next();
+                String url = document.getString(IMAGE_URL);
+                int start = url.lastIndexOf(UPLOADS_PREFIX);
+                String newPath = newPaths.get(url.substring(start + UPLOADS_PREFIX.length()));
+                if (newPath == null) {
+                    continue;
+                }
+                bulk.updateOne(new Query(Criteria.where("id").is(document.get("_id")).and(IMAGE_URL).is(url)),
+                        new Update().set(IMAGE_URL, url.substring(0, start) + UPLOADS_PREFIX + newPath));
+                if (++pending == STREAM_BATCH_SIZE) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+                    pending = 0;
+                }
+            }
+        }
+        return pending == 0 ? updated : updated + bulk.execute().getModifiedCount();
+    }
+
+    static void forEachUploadUrl(MongoTemplate mongoTemplate, Class<?> entityClass, Criteria referencing,
+                                 Consumer<String> consumer) {
+        Query query = new Query(referencing)
+                .addCriteria(Criteria.where(IMAGE_URL).regex(Pattern.quote(UPLOADS_PREFIX)))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        query.fields().include(IMAGE_URL).exclude("_id");
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(entityClass))) {
+            documents.forEach(document -> consumer.accept(document.getString(IMAGE_URL)));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.PageCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+final class KeysetCriteria {
+
+    static final String CREATED_AT = "createdAt";
+    static final String ID = "id";
+
+    private KeysetCriteria() {
+    }
+
+    static Query page(Query query, PageCursor cursor, Sort.Direction direction, int limit) {
+        return cursor == null
+                ? page(query, CREATED_AT, null, null, direction, limit)
+                : page(query, CREATED_AT, cursor.createdAt(), cursor.id(), direction, limit);
+    }
+
+    static Query page(Query query, String field, Object afterValue, String afterId, Sort.Direction direction,
+                      int limit) {
+        if (afterId != null) {
+            query.addCriteria(after(field, afterValue, afterId, direction));
+        }
+        return query.with(Sort.by(direction, field, ID)).limit(limit);
+    }
+
+    private static Criteria after(String field, Object value, String id, Sort.Direction direction) {
+        if (value == null) {
+            return direction.isAscending()
+                    ? new Criteria().orOperator(
+                            Criteria.where(field).ne(null),
+                            Criteria.where(field).is(null).and(ID).gt(id))
+                    : Criteria.where(field).is(null).and(ID).lt(id);
+        }
+        if (direction.isAscending()) {
+            return new Criteria().orOperator(
+                    Criteria.where(field).gt(value),
+                    Criteria.where(field).is(value).and(ID).gt(id)
+            );
+        }
+        return new Criteria().orOperator(
+                Criteria.where(field).lt(value),
+                Criteria.where(field).is(value).and(ID).lt(id)
+        );
+    }
+}
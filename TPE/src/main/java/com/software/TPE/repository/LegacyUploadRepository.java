@@ -0,0 +1,7 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.LegacyUpload;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface LegacyUploadRepository extends MongoRepository<LegacyUpload, String> {
+}
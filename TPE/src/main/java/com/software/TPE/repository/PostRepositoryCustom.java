@@ -0,0 +1,37 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.CategoryCountResponse;
+import com.software.TPE.dto.CommentCountDrift;
+import com.software.TPE.dto.PageCursor;
+import com.software.TPE.model.Post;
+import com.software.TPE.model.PostStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface PostRepositoryCustom {
+    List<Post> findAllWithFields(Set<String> fields);
+    List<Post> findAllByIdWithFields(Collection<String> ids, Set<String> fields);
+    void forEachId(Consumer<String> consumer);
+    void forEachIdCreatedSince(Instant since, Consumer<String> consumer);
+    List<Post> findPageByStatus(PostStatus status, PageCursor cursor, int limit, Set<String> fields);
+    List<Post> findPageByStatusAndCategory(PostStatus status, String category, PageCursor cursor, int limit, Set<String> fields);
+    List<Post> findPageByAuthorId(String authorId, PageCursor cursor, int limit, Set<String> fields);
+    List<Post> searchPublished(String text, Double afterScore, String afterId, int limit);
+    List<CategoryCountResponse> countByCategory(PostStatus status);
+    void incrementCommentCount(String postId, long delta);
+    void incrementCommentCounts(Map<String, Long> deltas);
+    List<CommentCountDrift> findCommentCountDrift();
+    long correctCommentCounts(List<CommentCountDrift> drifts);
+    Optional<Post> updateReview(String id, Long expectedVersion, PostStatus status, String feedback,
+                                String deleteReason, LocalDateTime updatedAt, Set<String> fields);
+    long replaceUploadPaths(Map<String, String> newPaths);
+    void forEachUploadUrl(Consumer<String> consumer);
+    void forEachUploadUrlCreatedSince(LocalDateTime since, Consumer<String> consumer);
+}
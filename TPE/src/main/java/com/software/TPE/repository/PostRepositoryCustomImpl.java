@@ -0,0 +1,214 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.CategoryCountResponse;
+import com.software.TPE.dto.CommentCountDrift;
+import com.software.TPE.dto.PageCursor;
+import com.software.TPE.model.Post;
+import com.software.TPE.model.PostStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Post> findAllWithFields(Set<String> fields) {
+        return mongoTemplate.find(QueryFields.include(new Query(), fields), Post.class);
+    }
+
+    @Override
+    public List<Post> findAllByIdWithFields(Collection<String> ids, Set<String> fields) {
+        return mongoTemplate.find(QueryFields.include(new Query(Criteria.where("id").in(ids)), fields), Post.class);
+    }
+
+    @Override
+    public void forEachId(Consumer<String> consumer) {
+        Query query = new Query();
+        query.fields().include("id");
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(post -> consumer.accept(post.getId()));
+        }
+    }
+
+    @Override
+    public void forEachIdCreatedSince(Instant since, Consumer<String> consumer) {
+        Query query = new Query(Criteria.where("_id").gte(ObjectId.getSmallestWithDate(Date.from(since))));
+        query.fields().include("id");
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(post -> consumer.accept(post.getId()));
+        }
+    }
+
+    @Override
+    public List<Post> findPageByStatus(PostStatus status, PageCursor cursor, int limit, Set<String> fields) {
+        return findPage(Criteria.where("status").is(status), cursor, limit, fields);
+    }
+
+    @Override
+    public List<Post> findPageByStatusAndCategory(PostStatus status, String category, PageCursor cursor, int limit,
+                                                  Set<String> fields) {
+        return findPage(Criteria.where("status").is(status).and("category").is(category), cursor, limit, fields);
+    }
+
+    @Override
+    public List<Post> findPageByAuthorId(String authorId, PageCursor cursor, int limit, Set<String> fields) {
+        return findPage(Criteria.where("authorId").is(authorId), cursor, limit, fields);
+    }
+
+    @Override
+    public List<Post> searchPublished(String text, Double afterScore, String afterId, int limit) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(context -> new Document("$match", new Document("status", PostStatus.APPROVED.name())
+                .append("$text", new Document("$search", text))));
+        operations.add(context -> new Document("$addFields",
+                new Document(PostSearchIndex.SCORE, new Document("$meta", "textScore"))));
+        if (afterId != null) {
+            operations.add(Aggregation.match(new Criteria().orOperator(
+                    Criteria.where(PostSearchIndex.SCORE).lt(afterScore),
+                    Criteria.where(PostSearchIndex.SCORE).is(afterScore).and("id").lt(afterId)
+            )));
+        }
+        operations.add(Aggregation.sort(Sort.by(Sort.Direction.DESC, PostSearchIndex.SCORE, "id")));
+        operations.add(Aggregation.limit(limit));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(Post.class, operations), Post.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public List<CategoryCountResponse> countByCategory(PostStatus status) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("status").is(status).and("category").ne(null)),
+                Aggregation.group("category").count().as("count"),
+                Aggregation.project("count").and("category").previousOperation(),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by("category")))
+        );
+        return mongoTemplate.aggregate(aggregation, Post.class, CategoryCountResponse.class).getMappedResults();
+    }
+
+    @Override
+    public void incrementCommentCount(String postId, long delta) {
+        incrementCommentCounts(Map.of(postId, delta));
+    }
+
+    @Override
+    public void incrementCommentCounts(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        deltas.forEach((postId, delta) -> bulk.updateOne(
+                new Query(Criteria.where("id").is(postId)),
+                new Update().inc("commentCount", delta)
+        ));
+        bulk.execute();
+    }
+
+    @Override
+    public List<CommentCountDrift> findCommentCountDrift() {
+        AggregationOperation countComments = context -> Document.parse("""
+                { $lookup: { from: "comments", localField: "_id", foreignField: "postId",
+                             pipeline: [ { $count: "n" } ], as: "counted" } }""");
+        AggregationOperation compareCounts = context -> Document.parse("""
+                { $project: { stored: "$commentCount",
+                              counted: { $ifNull: [ { $first: "$counted.n" }, 0 ] } } }""");
+        AggregationOperation keepDrifted = context -> Document.parse("""
+                { $match: { $expr: { $ne: [ "$counted", "$stored" ] } } }""");
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.project("commentCount"),
+                countComments,
+                compareCounts,
+                keepDrifted
+        );
+        return mongoTemplate.aggregate(aggregation, Post.class, Document.class).getMappedResults().stream()
+                .map(result -> new CommentCountDrift(
+                        result.get("_id").toString(),
+                        result.get("stored") instanceof Number stored ? stored.longValue() : null,
+                        ((Number) result.get("counted")).longValue()))
+                .toList();
+    }
+
+    @Override
+    public long correctCommentCounts(List<CommentCountDrift> drifts) {
+        if (drifts.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        for (CommentCountDrift drift : drifts) {
+            Criteria observed = Criteria.where("id").is(drift.postId());
+            if (drift.stored() == null) {
+                observed.and("commentCount").exists(false);
+            } else {
+                observed.and("commentCount").is(drift.stored());
+            }
+            bulk.updateOne(new Query(observed),
+                    new Update().set("commentCount", drift.counted()));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public Optional<Post> updateReview(String id, Long expectedVersion, PostStatus status, String feedback,
+                                       String deleteReason, LocalDateTime updatedAt, Set<String> fields) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                QueryFields.include(VersionedUpdates.byId(id, expectedVersion), fields),
+                reviewUpdate(status, feedback, deleteReason, updatedAt), VersionedUpdates.returnOld(), Post.class));
+    }
+
+    @Override
+    public long replaceUploadPaths(Map<String, String> newPaths) {
+        return ImageReferences.replaceUploadPaths(mongoTemplate, Post.class, newPaths);
+    }
+
+    @Override
+    public void forEachUploadUrl(Consumer<String> consumer) {
+        ImageReferences.forEachUploadUrl(mongoTemplate, Post.class, referencingImages(), consumer);
+    }
+
+    @Override
+    public void forEachUploadUrlCreatedSince(LocalDateTime since, Consumer<String> consumer) {
+        ImageReferences.forEachUploadUrl(mongoTemplate, Post.class,
+                referencingImages().and(KeysetCriteria.CREATED_AT).gte(since), consumer);
+    }
+
+    private Criteria referencingImages() {
+        return Criteria.where("status").ne(PostStatus.REJECTED);
+    }
+
+    private Update reviewUpdate(PostStatus status, String feedback, String deleteReason, LocalDateTime updatedAt) {
+        return VersionedUpdates.bump(new Update()
+                .set("status", status)
+                .set("feedback", feedback)
+                .set("deleteReason", deleteReason)
+                .set("updatedAt", updatedAt));
+    }
+
+    private List<Post> findPage(Criteria filter, PageCursor cursor, int limit, Set<String> fields) {
+        Query query = KeysetCriteria.page(new Query(filter), cursor, Sort.Direction.DESC, limit);
+        QueryFields.include(query, fields, KeysetCriteria.CREATED_AT, "updatedAt");
+        return mongoTemplate.find(query, Post.class);
+    }
+}
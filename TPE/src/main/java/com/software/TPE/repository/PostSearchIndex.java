@@ -0,0 +1,44 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.Post;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+public final class PostSearchIndex {
+
+    static final String SCORE = "score";
+    private static final String NAME = "status_text";
+    private static final String LANGUAGE = "spanish";
+
+    private PostSearchIndex() {
+    }
+
+    public static void ensure(MongoTemplate mongoTemplate) {
+        IndexOperations indexOps = mongoTemplate.indexOps(Post.class);
+        for (IndexInfo index : indexOps.getIndexInfo()) {
+            if (!NAME.equals(index.getName()) && index.getIndexFields().stream().anyMatch(IndexField::isText)) {
+                indexOps.dropIndex(index.getName());
+            }
+        }
+        indexOps.createIndex(new IndexDefinition() {
+            @Override
+            public Document getIndexKeys() {
+                return new Document("status", 1)
+                        .append("title", "text")
+                        .append("category", "text")
+                        .append("content", "text");
+            }
+
+            @Override
+            public Document getIndexOptions() {
+                return new Document("name", NAME)
+                        .append("default_language", LANGUAGE)
+                        .append("weights", new Document("title", 5).append("category", 3).append("content", 1));
+            }
+        });
+    }
+}
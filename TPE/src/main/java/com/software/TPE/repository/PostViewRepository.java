@@ -0,0 +1,7 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.PostViewBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface PostViewRepository extends MongoRepository<PostViewBucket, String>, PostViewRepositoryCustom {
+}
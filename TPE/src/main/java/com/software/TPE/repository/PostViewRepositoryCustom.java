@@ -0,0 +1,12 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.PostViewCount;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface PostViewRepositoryCustom {
+    void incrementViews(Map<String, Long> views, LocalDateTime hour);
+    List<PostViewCount> findMostViewedSince(LocalDateTime since, int limit);
+}
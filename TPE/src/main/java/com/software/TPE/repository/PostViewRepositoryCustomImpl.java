@@ -0,0 +1,50 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.PostViewCount;
+import com.software.TPE.model.PostViewBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class PostViewRepositoryCustomImpl implements PostViewRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementViews(Map<String, Long> views, LocalDateTime hour) {
+        if (views.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostViewBucket.class);
+        views.forEach((postId, count) -> bulk.upsert(
+                new Query(Criteria.where("id").is(postId + ":" + hour)),
+                new Update()
+                        .setOnInsert("postId", postId)
+                        .setOnInsert("hour", hour)
+                        .inc("views", count)
+        ));
+        bulk.execute();
+    }
+
+    @Override
+    public List<PostViewCount> findMostViewedSince(LocalDateTime since, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("hour").gte(since)),
+                Aggregation.group("postId").sum("views").as("views"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "views")),
+                Aggregation.limit(limit),
+                Aggregation.project("views").and("postId").previousOperation()
+        );
+        return mongoTemplate.aggregate(aggregation, PostViewBucket.class, PostViewCount.class).getMappedResults();
+    }
+}
@@ -0,0 +1,22 @@
+package com.software.TPE.repository;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+
+final class QueryFields {
+
+    private QueryFields() {
+    }
+
+    static Query include(Query query, Collection<String> fields, String... required) {
+        if (fields == null || fields.isEmpty()) {
+            return query;
+        }
+        fields.forEach(field -> query.fields().include(field));
+        for (String field : required) {
+            query.fields().include(field);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,55 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.User;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+public final class UserNames {
+
+    public static final String KEY = "nameKey";
+    private static final int BATCH_SIZE = 1000;
+
+    private UserNames() {
+    }
+
+    public static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    public static long backfill(MongoTemplate mongoTemplate) {
+        Query query = new Query(Criteria.where(KEY).is(null)).cursorBatchSize(BATCH_SIZE);
+        query.fields().include("name");
+        long updated = 0;
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE) {
+                    updated += write(mongoTemplate, batch);
+                    batch.clear();
+                }
+            }
+        }
+        return updated + write(mongoTemplate, batch);
+    }
+
+    private static long write(MongoTemplate mongoTemplate, List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        users.forEach(user -> bulk.updateOne(new Query(Criteria.where("id").is(user.getId())),
+                new Update().set(KEY, key(user.getName()))));
+        return bulk.execute().getModifiedCount();
+    }
+}
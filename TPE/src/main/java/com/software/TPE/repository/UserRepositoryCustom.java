@@ -0,0 +1,23 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.UserDirectoryFilter;
+import com.software.TPE.model.User;
+import com.software.TPE.model.UserRole;
+import com.software.TPE.model.UserStatus;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface UserRepositoryCustom {
+    List<User> findDirectoryPage(UserDirectoryFilter filter, String sortField, Sort.Direction direction,
+                                 Object afterValue, String afterId, int limit, Set<String> fields);
+    Optional<User> findProfileById(String userId);
+    void updateLastLogins(Map<String, LocalDateTime> lastLogins);
+    void updatePassword(String userId, String password);
+    Optional<User> updateRole(String userId, Long expectedVersion, UserRole role);
+    Optional<User> updateStatus(String userId, Long expectedVersion, UserStatus status);
+}
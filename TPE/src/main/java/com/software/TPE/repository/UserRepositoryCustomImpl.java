@@ -0,0 +1,101 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.dto.UserDirectoryFilter;
+import com.software.TPE.model.User;
+import com.software.TPE.model.UserRole;
+import com.software.TPE.model.UserStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String REGEX_METACHARACTERS = "[\\\\^$.|?*+()\\[\\]{}]";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<User> findDirectoryPage(UserDirectoryFilter filter, String sortField, Sort.Direction direction,
+                                        Object afterValue, String afterId, int limit, Set<String> fields) {
+        Query query = new Query();
+        if (filter.role() != null) {
+            query.addCriteria(Criteria.where("role").is(filter.role()));
+        }
+        if (filter.status() != null) {
+            query.addCriteria(Criteria.where("status").is(filter.status()));
+        }
+        if (filter.prefix() != null) {
+            String prefix = "^" + escapeRegex(filter.prefix().toLowerCase(Locale.ROOT));
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("email").regex(prefix),
+                    Criteria.where(UserNames.KEY).regex(prefix)
+            ));
+        }
+        KeysetCriteria.page(query, sortField, afterValue, afterId, direction, limit);
+
+        if (fields == null || fields.isEmpty()) {
+            query.fields().exclude("password");
+            return mongoTemplate.find(query, User.class);
+        }
+        return mongoTemplate.find(QueryFields.include(query, fields, sortField), User.class);
+    }
+
+    @Override
+    public Optional<User> findProfileById(String userId) {
+        Query query = new Query(Criteria.where("id").is(userId));
+        query.fields().exclude("password");
+        return Optional.ofNullable(mongoTemplate.findOne(query, User.class));
+    }
+
+    @Override
+    public void updateLastLogins(Map<String, LocalDateTime> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        lastLogins.forEach((userId, loginAt) -> bulk.updateOne(
+                new Query(Criteria.where("id").is(userId)),
+                new Update().max("lastLoginAt", loginAt)
+        ));
+        bulk.execute();
+    }
+
+    @Override
+    public void updatePassword(String userId, String password) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(userId)),
+                new Update().set("password", password), User.class);
+    }
+
+    @Override
+    public Optional<User> updateRole(String userId, Long expectedVersion, UserRole role) {
+        return modifyProfile(userId, expectedVersion, new Update().set("role", role));
+    }
+
+    @Override
+    public Optional<User> updateStatus(String userId, Long expectedVersion, UserStatus status) {
+        return modifyProfile(userId, expectedVersion, new Update().set("status", status));
+    }
+
+    private Optional<User> modifyProfile(String userId, Long expectedVersion, Update update) {
+        Query query = VersionedUpdates.byId(userId, expectedVersion);
+        query.fields().exclude("password");
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, VersionedUpdates.bump(update),
+                VersionedUpdates.returnNew(), User.class));
+    }
+
+    private String escapeRegex(String value) {
+        return value.replaceAll(REGEX_METACHARACTERS, "\\\\$0");
+    }
+}
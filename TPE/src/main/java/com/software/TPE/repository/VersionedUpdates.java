@@ -0,0 +1,34 @@
+package com.software.TPE.repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+final class VersionedUpdates {
+
+    static final String VERSION = "version";
+
+    private VersionedUpdates() {
+    }
+
+    static Query byId(String id, Long expectedVersion) {
+        Query query = new Query(Criteria.where("id").is(id));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where(VERSION).is(expectedVersion));
+        }
+        return query;
+    }
+
+    static Update bump(Update update) {
+        return update.inc(VERSION, 1);
+    }
+
+    static FindAndModifyOptions returnNew() {
+        return FindAndModifyOptions.options().returnNew(true);
+    }
+
+    static FindAndModifyOptions returnOld() {
+        return FindAndModifyOptions.options().returnNew(false);
+    }
+}
@@ -7,6 +7,6 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 import java.util.Optional;
 
-public interface WriterApplicationRepository extends MongoRepository<WriterApplication, String> {
+public interface WriterApplicationRepository extends MongoRepository<WriterApplication, String>, WriterApplicationRepositoryCustom {
     Optional<WriterApplication> findByUserIdAndEstadoIn(String userId, List<WriterApplicationStatus> estados);
 }
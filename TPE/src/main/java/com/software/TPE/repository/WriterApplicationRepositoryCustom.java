@@ -0,0 +1,10 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.WriterApplication;
+import com.software.TPE.model.WriterApplicationStatus;
+
+import java.util.Optional;
+
+public interface WriterApplicationRepositoryCustom {
+    Optional<WriterApplication> updateEstado(String id, Long expectedVersion, WriterApplicationStatus estado);
+}
@@ -0,0 +1,22 @@
+package com.software.TPE.repository;
+
+import com.software.TPE.model.WriterApplication;
+import com.software.TPE.model.WriterApplicationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class WriterApplicationRepositoryCustomImpl implements WriterApplicationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<WriterApplication> updateEstado(String id, Long expectedVersion, WriterApplicationStatus estado) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(VersionedUpdates.byId(id, expectedVersion),
+                VersionedUpdates.bump(new Update().set("estado", estado)), VersionedUpdates.returnNew(),
+                WriterApplication.class));
+    }
+}
@@ -3,6 +3,9 @@ package com.software.TPE.service;
 import com.software.TPE.dto.AdvertisementRequest;
 import com.software.TPE.dto.AdvertisementResponse;
 import com.software.TPE.dto.AdvertisementUpdateRequest;
+import com.software.TPE.dto.BulkAdvertisementUpdateRequest;
+import com.software.TPE.dto.BulkItemResponse;
+import com.software.TPE.exception.ConflictException;
 import com.software.TPE.exception.ResourceNotFoundException;
 import com.software.TPE.model.Advertisement;
 import com.software.TPE.model.AdvertisementStatus;
@@ -11,13 +14,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AdvertisementService {
 
+    private static final Set<String> SUMMARY_FIELDS = Set.of("brand", "description", "imageUrl", "status");
+
     private final AdvertisementRepository advertisementRepository;
 
     public AdvertisementResponse create(AdvertisementRequest request) {
@@ -43,38 +51,64 @@ public class AdvertisementService {
         return toResponse(advertisementRepository.save(advertisement));
     }
 
-    public List<AdvertisementResponse> findAll() {
-        return advertisementRepository.findAll().stream()
+    public List<AdvertisementResponse> findAll(String fields) {
+        return advertisementRepository.findAllWithFields(selectFields(fields)).stream()
                 .map(this::toResponse)
                 .toList();
     }
 
     public AdvertisementResponse updateStatus(String adId, AdvertisementUpdateRequest request) {
-        Advertisement advertisement = advertisementRepository.findById(adId)
-                .orElseThrow(() -> new ResourceNotFoundException("Publicidad no encontrada"));
+        Advertisement advertisement = advertisementRepository.updateStatus(adId, request.version(), request.status(),
+                        normalizeRejectionReason(request.status(), request.rejectionReason()), LocalDateTime.now())
+                .orElseThrow(() -> {
+                    if (request.version() != null && advertisementRepository.existsById(adId)) {
+                        return new ConflictException("La publicidad fue modificada por otro usuario. Recarga e intenta nuevamente.");
+                    }
+                    return new ResourceNotFoundException("Publicidad no encontrada");
+                });
+
+        return toResponse(advertisement);
+    }
 
-        advertisement.setStatus(request.status());
+    public List<BulkItemResponse> updateStatuses(BulkAdvertisementUpdateRequest request) {
+        String rejectionReason = normalizeRejectionReason(request.status(), request.rejectionReason());
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> versions = request.versions() == null ? Map.of() : request.versions();
+
+        List<BulkItemResponse> results = new ArrayList<>();
+        for (String id : request.ids().stream().distinct().toList()) {
+            Long expectedVersion = versions.get(id);
+            if (advertisementRepository.updateStatus(id, expectedVersion, request.status(), rejectionReason, now)
+                    .isPresent()) {
+                results.add(new BulkItemResponse(id, true, null));
+            } else if (expectedVersion != null && advertisementRepository.existsById(id)) {
+                results.add(new BulkItemResponse(id, false, "La publicidad fue modificada por otro usuario"));
+            } else {
+                results.add(new BulkItemResponse(id, false, "Publicidad no encontrada"));
+            }
+        }
+        return results;
+    }
 
-        String rejectionReason = request.rejectionReason();
+    public void delete(String adId) {
+        if (!advertisementRepository.removeById(adId)) {
+            throw new ResourceNotFoundException("Publicidad no encontrada");
+        }
+    }
+
+    private String normalizeRejectionReason(AdvertisementStatus status, String rejectionReason) {
         if (rejectionReason != null && rejectionReason.isBlank()) {
             rejectionReason = null;
         }
 
-        if (request.status() == AdvertisementStatus.APPROVED) {
+        if (status == AdvertisementStatus.APPROVED) {
             rejectionReason = null;
         }
-
-        advertisement.setRejectionReason(rejectionReason);
-        advertisement.setUpdatedAt(LocalDateTime.now());
-
-        return toResponse(advertisementRepository.save(advertisement));
+        return rejectionReason;
     }
 
-    public void delete(String adId) {
-        if (!advertisementRepository.existsById(adId)) {
-            throw new ResourceNotFoundException("Publicidad no encontrada");
-        }
-        advertisementRepository.deleteById(adId);
+    private Set<String> selectFields(String fields) {
+        return FieldSelection.parse(fields, AdvertisementResponse.class, SUMMARY_FIELDS);
     }
 
     private AdvertisementResponse toResponse(Advertisement advertisement) {
@@ -92,7 +126,8 @@ public class AdvertisementService {
                 advertisement.getStatus(),
                 advertisement.getRejectionReason(),
                 advertisement.getCreatedAt(),
-                advertisement.getUpdatedAt()
+                advertisement.getUpdatedAt(),
+                advertisement.getVersion()
         );
     }
 }
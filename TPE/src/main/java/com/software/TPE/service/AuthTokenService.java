@@ -0,0 +1,118 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.AuthenticatedUser;
+import com.software.TPE.model.User;
+import com.software.TPE.model.UserRole;
+import com.software.TPE.model.UserStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class AuthTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public AuthTokenService(@Value("${auth.token.secret:}") String secret,
+                            @Value("${auth.token.ttl:PT12H}") Duration ttl) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("auth.token.secret no está configurado; se usa una clave aleatoria y los tokens no sobreviven reinicios");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public String issue(User user) {
+        long issuedAt = System.currentTimeMillis();
+        String payload = String.join(SEPARATOR,
+                user.getId(),
+                user.getRole().name(),
+                user.getStatus().name(),
+                Long.toString(issuedAt),
+                Long.toString(issuedAt + ttlMillis));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    public Optional<AuthenticatedUser> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 5) {
+                return Optional.empty();
+            }
+            long issuedAt = Long.parseLong(parts[3]);
+            long expiresAt = Long.parseLong(parts[4]);
+            if (System.currentTimeMillis() >= expiresAt || isRevoked(parts[0], issuedAt)) {
+                return Optional.empty();
+            }
+
+            UserStatus status = UserStatus.valueOf(parts[2]);
+            if (status != UserStatus.ACTIVE) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(parts[0], UserRole.valueOf(parts[1]), status));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public void revoke(String userId) {
+        revokedBefore.put(userId, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.token.revocation-prune-interval:PT10M}")
+    public void pruneRevocations() {
+        long oldestLiveToken = System.currentTimeMillis() - ttlMillis;
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < oldestLiveToken);
+    }
+
+    private boolean isRevoked(String userId, long issuedAt) {
+        Long revokedAt = revokedBefore.get(userId);
+        return revokedAt != null && issuedAt <= revokedAt;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No se pudo firmar el token", ex);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.CommentCountDrift;
+import com.software.TPE.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentCountReconciler {
+
+    private final PostRepository postRepository;
+    private Set<CommentCountDrift> previous = Set.of();
+
+    @Scheduled(initialDelayString = "${comments.count-reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${comments.count-reconcile.interval:PT15M}")
+    public synchronized void reconcile() {
+        try {
+            Set<CommentCountDrift> observed = new HashSet<>(postRepository.findCommentCountDrift());
+            List<CommentCountDrift> confirmed = observed.stream().filter(previous::contains).toList();
+            previous = observed;
+            if (confirmed.isEmpty()) {
+                return;
+            }
+            long corrected = postRepository.correctCommentCounts(confirmed);
+            log.info("Se corrigieron los contadores de comentarios de {} noticias", corrected);
+        } catch (DataAccessException ex) {
+            log.warn("No se pudieron conciliar los contadores de comentarios: {}", ex.getMessage());
+        }
+    }
+}
@@ -1,73 +1,191 @@
 package com.software.TPE.service;
 
+import com.software.TPE.dto.BulkDeleteRequest;
+import com.software.TPE.dto.BulkItemResponse;
 import com.software.TPE.dto.CommentRequest;
 import com.software.TPE.dto.CommentResponse;
+import com.software.TPE.dto.CursorPage;
+import com.software.TPE.dto.PageCursor;
 import com.software.TPE.exception.BadRequestException;
 import com.software.TPE.exception.ResourceNotFoundException;
 import com.software.TPE.model.Comment;
+import com.software.TPE.repository.CommentPaths;
 import com.software.TPE.repository.CommentRepository;
 import com.software.TPE.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
 
+    private static final Set<String> SUMMARY_FIELDS =
+            Set.of("postId", "parentId", "userId", "userName", "replyCount", "createdAt");
+    private static final int DEFAULT_REPLY_DEPTH = 3;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final PostExistenceFilter postExistenceFilter;
+    private final CommentWriteBuffer commentWriteBuffer;
 
     public CommentResponse create(CommentRequest request) {
         if (request.content().isBlank()) {
             throw new BadRequestException("El comentario no puede estar vacío");
         }
 
-        postRepository.findById(request.postId())
-                .orElseThrow(() -> new ResourceNotFoundException("Noticia no encontrada"));
+        if (!postExistenceFilter.exists(request.postId())) {
+            throw new ResourceNotFoundException("Noticia no encontrada");
+        }
+
+        Comment parent = findParent(request);
 
+        LocalDateTime now = LocalDateTime.now();
         Comment comment = Comment.builder()
                 .id(UUID.randomUUID().toString())
                 .postId(request.postId())
+                .parentId(parent == null ? null : parent.getId())
+                .depth(parent == null ? 0 : parent.getDepth() + 1)
                 .userId(request.userId())
                 .userName(request.userName())
                 .content(request.content().trim())
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
+                .updatedAt(now)
                 .build();
+        comment.setPath(parent == null
+                ? CommentPaths.pathOf(comment)
+                : CommentPaths.childPath(CommentPaths.pathOf(parent), comment));
+
+        if (commentWriteBuffer.isEnabled()) {
+            commentWriteBuffer.enqueue(comment);
+            return toResponse(comment);
+        }
 
-        return toResponse(commentRepository.save(comment));
+        Comment saved = commentRepository.save(comment);
+        if (parent != null) {
+            commentRepository.incrementReplyCounts(Map.of(parent.getId(), 1L));
+        }
+        postRepository.incrementCommentCount(saved.getPostId(), 1);
+        postCache.evictPost(saved.getPostId());
+        return toResponse(saved);
     }
 
-    public List<CommentResponse> findAll() {
-        return commentRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::toResponse)
-                .toList();
+    public CursorPage<CommentResponse> findReplies(String commentId, Integer depth, String cursor, Integer limit,
+                                                   String fields) {
+        if (depth != null && depth <= 0) {
+            throw new BadRequestException("La profundidad debe ser mayor a 0");
+        }
+        Comment parent = commentRepository.findThreadRefById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comentario no encontrado"));
+        int maxDepth = parent.getDepth() + Math.min(depth == null ? DEFAULT_REPLY_DEPTH : depth, CommentPaths.MAX_DEPTH);
+        int pageSize = Pagination.limit(limit);
+
+        List<Comment> replies = commentRepository.findThreadPage(parent.getPostId(), CommentPaths.pathOf(parent),
+                Pagination.key(cursor), maxDepth, pageSize + 1, selectFields(fields));
+        return Pagination.keyPage(replies, pageSize, Comment::getPath, this::toResponse);
     }
 
-    public List<CommentResponse> findByPost(String postId) {
-        return commentRepository.findByPostIdOrderByCreatedAtAsc(postId).stream()
-                .map(this::toResponse)
-                .toList();
+    public CursorPage<CommentResponse> findAll(String cursor, Integer limit, String fields) {
+        int pageSize = Pagination.limit(limit);
+        return toPage(commentRepository.findPage(
+                PageCursor.decode(cursor), pageSize + 1, selectFields(fields)), pageSize);
+    }
+
+    public CursorPage<CommentResponse> findByPost(String postId, String cursor, Integer limit, String fields) {
+        int pageSize = Pagination.limit(limit);
+        return toPage(commentRepository.findPageByPostId(
+                postId, PageCursor.decode(cursor), pageSize + 1, selectFields(fields)), pageSize);
     }
 
     public void delete(String commentId) {
-        if (!commentRepository.existsById(commentId)) {
-            throw new ResourceNotFoundException("Comentario no encontrado");
+        Comment deleted = commentRepository.findAndDeleteById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comentario no encontrado"));
+        long descendants = deleted.getReplyCount() > 0
+                ? commentRepository.deleteDescendants(deleted.getPostId(), List.of(CommentPaths.pathOf(deleted)))
+                : 0;
+        if (deleted.getParentId() != null) {
+            commentRepository.incrementReplyCounts(Map.of(deleted.getParentId(), -1L));
         }
-        commentRepository.deleteById(commentId);
+        postRepository.incrementCommentCount(deleted.getPostId(), -1 - descendants);
+        postCache.evictPost(deleted.getPostId());
+    }
+
+    public List<BulkItemResponse> deleteAll(BulkDeleteRequest request) {
+        List<String> ids = request.ids().stream().distinct().toList();
+        List<Comment> comments = commentRepository.findThreadRefsByIds(ids);
+        Set<String> existing = comments.stream().map(Comment::getId).collect(Collectors.toSet());
+
+        if (!existing.isEmpty()) {
+            commentRepository.deleteAllById(existing);
+
+            Map<String, Long> deltas = new HashMap<>(comments.stream()
+                    .collect(Collectors.groupingBy(Comment::getPostId, Collectors.summingLong(comment -> -1L))));
+            comments.stream()
+                    .filter(comment -> comment.getReplyCount() > 0)
+                    .collect(Collectors.groupingBy(Comment::getPostId,
+                            Collectors.mapping(CommentPaths::pathOf, Collectors.toList())))
+                    .forEach((postId, paths) ->
+                            deltas.merge(postId, -commentRepository.deleteDescendants(postId, paths), Long::sum));
+            postRepository.incrementCommentCounts(deltas);
+
+            commentRepository.incrementReplyCounts(comments.stream()
+                    .filter(comment -> comment.getParentId() != null && !existing.contains(comment.getParentId()))
+                    .collect(Collectors.groupingBy(Comment::getParentId, Collectors.summingLong(comment -> -1L))));
+            deltas.keySet().forEach(postCache::evictPost);
+        }
+
+        return ids.stream()
+                .map(id -> existing.contains(id)
+                        ? new BulkItemResponse(id, true, null)
+                        : new BulkItemResponse(id, false, "Comentario no encontrado"))
+                .toList();
+    }
+
+    private Comment findParent(CommentRequest request) {
+        if (request.parentId() == null || request.parentId().isBlank()) {
+            return null;
+        }
+        Comment parent = commentWriteBuffer.findPending(request.parentId())
+                .or(() -> commentRepository.findThreadRefById(request.parentId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Comentario no encontrado"));
+        if (!parent.getPostId().equals(request.postId())) {
+            throw new BadRequestException("El comentario respondido pertenece a otra noticia");
+        }
+        if (parent.getDepth() + 1 > CommentPaths.MAX_DEPTH) {
+            throw new BadRequestException("No se pueden anidar más de " + CommentPaths.MAX_DEPTH + " respuestas");
+        }
+        return parent;
+    }
+
+    private Set<String> selectFields(String fields) {
+        return FieldSelection.parse(fields, CommentResponse.class, SUMMARY_FIELDS);
+    }
+
+    private CursorPage<CommentResponse> toPage(List<Comment> comments, int pageSize) {
+        return Pagination.page(comments, pageSize,
+                comment -> new PageCursor(comment.getCreatedAt(), comment.getId()), this::toResponse);
     }
 
     private CommentResponse toResponse(Comment comment) {
         return new CommentResponse(
                 comment.getId(),
                 comment.getPostId(),
+                comment.getParentId(),
+                comment.getDepth(),
+                comment.getReplyCount(),
                 comment.getUserId(),
                 comment.getUserName(),
                 comment.getContent(),
-                comment.getCreatedAt()
+                comment.getCreatedAt(),
+                comment.getUpdatedAt() == null ? comment.getCreatedAt() : comment.getUpdatedAt()
         );
     }
 }
@@ -0,0 +1,314 @@
+package com.software.TPE.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.software.TPE.exception.TooManyRequestsException;
+import com.software.TPE.model.Comment;
+import com.software.TPE.repository.CommentRepository;
+import com.software.TPE.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class CommentWriteBuffer {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final ObjectMapper objectMapper;
+    private final Path deadLetterFile;
+    private final Object deadLetterLock = new Object();
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long offerTimeoutNanos;
+    private final BlockingQueue<Comment> queue;
+    private final Map<String, Comment> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+    private final Counter deadLettered;
+    private final Counter orphaned;
+    private volatile boolean running;
+    private Thread worker;
+
+    public CommentWriteBuffer(CommentRepository commentRepository,
+                              PostRepository postRepository,
+                              PostCache postCache,
+                              ObjectMapper objectMapper,
+                              @Value("${comments.write-behind.dead-letter-file:comments-dead-letter.jsonl}") String deadLetterFile,
+                              @Value("${comments.write-behind.enabled:false}") boolean enabled,
+                              @Value("${comments.write-behind.capacity:10000}") int capacity,
+                              @Value("${comments.write-behind.batch-size:500}") int batchSize,
+                              @Value("${comments.write-behind.max-delay:PT0.2S}") Duration maxDelay,
+                              @Value("${comments.write-behind.offer-timeout:PT0.05S}") Duration offerTimeout,
+                              MeterRegistry meterRegistry) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.objectMapper = objectMapper;
+        this.deadLetterFile = Paths.get(deadLetterFile).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushTimer = Timer.builder("comments.write-behind.flush").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("comments.write-behind.batch-size").register(meterRegistry);
+        this.rejected = Counter.builder("comments.write-behind.rejected").register(meterRegistry);
+        this.deadLettered = Counter.builder("comments.write-behind.dead-lettered").register(meterRegistry);
+        this.orphaned = Counter.builder("comments.write-behind.orphaned").register(meterRegistry);
+        Gauge.builder("comments.write-behind.queue-depth", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("comment-write-behind").start(this::run);
+    }
+
+    public void enqueue(Comment comment) {
+        if (!running) {
+            throw new TooManyRequestsException("El servicio de comentarios no está disponible en este momento");
+        }
+        pending.put(comment.getId(), comment);
+        try {
+            if (!queue.offer(comment, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                pending.remove(comment.getId());
+                rejected.increment();
+                throw new TooManyRequestsException("Hay demasiados comentarios en cola. Intenta nuevamente en unos segundos.");
+            }
+        } catch (InterruptedException ex) {
+            pending.remove(comment.getId());
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("No se pudo encolar el comentario");
+        }
+    }
+
+    public Optional<Comment> findPending(String commentId) {
+        return Optional.ofNullable(pending.get(commentId));
+    }
+
+    @Scheduled(initialDelayString = "${comments.write-behind.replay-interval:PT1M}",
+            fixedDelayString = "${comments.write-behind.replay-interval:PT1M}")
+    public void replayDeadLetters() {
+        if (!running) {
+            return;
+        }
+        List<Comment> comments = new ArrayList<>();
+        synchronized (deadLetterLock) {
+            if (!Files.exists(deadLetterFile)) {
+                return;
+            }
+            try {
+                for (String line : Files.readAllLines(deadLetterFile, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        comments.add(objectMapper.readValue(line, Comment.class));
+                    } catch (JsonProcessingException ex) {
+                        log.error("Se ignoró una línea inválida de {}: {}", deadLetterFile, line);
+                    }
+                }
+                Files.delete(deadLetterFile);
+            } catch (IOException ex) {
+                log.warn("No se pudo leer {}: {}", deadLetterFile, ex.getMessage());
+                return;
+            }
+        }
+
+        List<Comment> overflow = new ArrayList<>();
+        for (Comment comment : comments) {
+            pending.put(comment.getId(), comment);
+            if (!queue.offer(comment)) {
+                overflow.add(comment);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            deadLetter(overflow);
+        }
+        log.info("Se reencolaron {} comentarios pendientes de {}", comments.size() - overflow.size(), deadLetterFile);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.join();
+    }
+
+    private void run() {
+        List<Comment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Comment first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Comment next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Comment> batch) {
+        batchSizes.record(batch.size());
+        Set<Comment> orphans = findOrphans(batch);
+        if (!orphans.isEmpty()) {
+            orphaned.increment(orphans.size());
+            log.warn("Se descartaron {} respuestas a comentarios eliminados", orphans.size());
+        }
+
+        List<Comment> failed = batch.stream().filter(comment -> !orphans.contains(comment)).toList();
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS && !failed.isEmpty(); attempt++) {
+            if (attempt > 1) {
+                log.warn("No se pudieron guardar {} comentarios (intento {})", failed.size(), attempt - 1);
+                sleepBeforeRetry(attempt - 1);
+            }
+            List<Comment> remaining = failed;
+            try {
+                failed = flushTimer.record(() -> commentRepository.insertUnordered(remaining));
+            } catch (DataAccessException ex) {
+                log.warn("Error guardando {} comentarios: {}", remaining.size(), ex.getMessage());
+            }
+        }
+        if (!failed.isEmpty()) {
+            deadLetter(failed);
+        }
+
+        Set<Comment> unwritten = Collections.newSetFromMap(new IdentityHashMap<>());
+        unwritten.addAll(failed);
+        unwritten.addAll(orphans);
+        List<Comment> written = batch.stream().filter(comment -> !unwritten.contains(comment)).toList();
+        Map<String, Long> deltas = written.stream()
+                .collect(Collectors.groupingBy(Comment::getPostId, Collectors.counting()));
+        Map<String, Long> replies = written.stream()
+                .filter(comment -> comment.getParentId() != null)
+                .collect(Collectors.groupingBy(Comment::getParentId, Collectors.counting()));
+        try {
+            postRepository.incrementCommentCounts(deltas);
+            commentRepository.incrementReplyCounts(replies);
+        } catch (DataAccessException ex) {
+            log.warn("No se pudieron actualizar los contadores de comentarios: {}", ex.getMessage());
+        }
+        written.forEach(comment -> pending.remove(comment.getId()));
+        orphans.forEach(comment -> pending.remove(comment.getId()));
+        deltas.keySet().forEach(postCache::evictPost);
+    }
+
+    private Set<Comment> findOrphans(List<Comment> batch) {
+        Set<String> batchIds = batch.stream().map(Comment::getId).collect(Collectors.toSet());
+        Set<String> parentIds = batch.stream()
+                .map(Comment::getParentId)
+                .filter(parentId -> parentId != null && !batchIds.contains(parentId))
+                .collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>(batchIds);
+        if (!parentIds.isEmpty()) {
+            try {
+                commentRepository.findThreadRefsByIds(parentIds).forEach(parent -> existing.add(parent.getId()));
+            } catch (DataAccessException ex) {
+                log.warn("No se pudo verificar la existencia de {} comentarios: {}", parentIds.size(), ex.getMessage());
+                return Set.of();
+            }
+            parentIds.stream().filter(pending::containsKey).forEach(existing::add);
+        }
+
+        Set<Comment> orphans = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Comment comment : batch) {
+            if (comment.getParentId() != null && !existing.contains(comment.getParentId())) {
+                orphans.add(comment);
+                existing.remove(comment.getId());
+            }
+        }
+        return orphans;
+    }
+
+    private void deadLetter(List<Comment> comments) {
+        synchronized (deadLetterLock) {
+            try {
+                Files.createDirectories(deadLetterFile.getParent());
+                try (BufferedWriter writer = Files.newBufferedWriter(deadLetterFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (Comment comment : comments) {
+                        writer.write(objectMapper.writeValueAsString(comment));
+                        writer.newLine();
+                    }
+                }
+                deadLettered.increment(comments.size());
+                log.error("Se guardaron {} comentarios en {} para reintentarlos", comments.size(), deadLetterFile);
+            } catch (IOException ex) {
+                comments.forEach(comment -> pending.remove(comment.getId()));
+                log.error("Se perdieron {} comentarios: no se pudo escribir {}", comments.size(), deadLetterFile, ex);
+            }
+        }
+    }
+
+    private void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(100L * attempt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.software.TPE.service;
+
+import com.software.TPE.exception.BadRequestException;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class FieldSelection {
+
+    private static final String SUMMARY = "summary";
+
+    private FieldSelection() {
+    }
+
+    static Set<String> parse(String fields, Class<? extends Record> responseType, Set<String> summaryFields) {
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        if (SUMMARY.equalsIgnoreCase(fields.trim())) {
+            return summaryFields;
+        }
+
+        Set<String> allowed = Arrays.stream(responseType.getRecordComponents())
+                .map(RecordComponent::getName)
+                .collect(Collectors.toSet());
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Campo no soportado: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+}
@@ -1,61 +1,211 @@
 package com.software.TPE.service;
 
+import com.software.TPE.dto.UploadResponse;
 import com.software.TPE.exception.BadRequestException;
+import com.software.TPE.exception.PayloadTooLargeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.Objects;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 @Slf4j
 public class FileStorageService {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_BYTES = 12;
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp"
+    );
+
     private final Path uploadDir;
+    private final Path tempDir;
+    private final long maxSize;
+    private final ImageDerivativeService imageDerivativeService;
 
-    public FileStorageService(@Value("${file.upload-dir}") String uploadDir) {
+    public FileStorageService(@Value("${file.upload-dir}") String uploadDir,
+                              @Value("${file.max-size:20MB}") DataSize maxSize,
+                              ImageDerivativeService imageDerivativeService) {
         this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tempDir = this.uploadDir.resolve(".tmp");
+        this.maxSize = maxSize.toBytes();
+        this.imageDerivativeService = imageDerivativeService;
         try {
-            Files.createDirectories(this.uploadDir);
+            Files.createDirectories(this.tempDir);
         } catch (IOException e) {
             throw new IllegalStateException("No se pudo crear el directorio de carga de archivos", e);
         }
     }
 
-    public String store(MultipartFile file) {
+    public UploadResponse store(MultipartFile file) {
         if (file.isEmpty()) {
             throw new BadRequestException("El archivo enviado está vacío");
         }
+        checkDeclaredSize(file.getSize());
 
-        String originalFilename = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
-        String extension = "";
-        int dotIndex = originalFilename.lastIndexOf('.');
-        if (dotIndex >= 0) {
-            extension = originalFilename.substring(dotIndex);
+        try (ReadableByteChannel source = Channels.newChannel(file.getInputStream())) {
+            return toResponse(write(source));
+        } catch (IOException e) {
+            log.error("Error guardando archivo", e);
+            throw new IllegalStateException("No se pudo guardar el archivo", e);
         }
+    }
 
-        String fileName = UUID.randomUUID() + extension;
-        Path destination = uploadDir.resolve(fileName);
+    public UploadResponse store(InputStream body, long contentLength) {
+        if (contentLength == 0) {
+            throw new BadRequestException("El archivo enviado está vacío");
+        }
+        checkDeclaredSize(contentLength);
 
-        try {
-            Files.copy(file.getInputStream(), destination, StandardCopyOption.REPLACE_EXISTING);
+        try (ReadableByteChannel source = Channels.newChannel(body)) {
+            return toResponse(write(source));
         } catch (IOException e) {
             log.error("Error guardando archivo", e);
             throw new IllegalStateException("No se pudo guardar el archivo", e);
         }
+    }
+
+    public String importLegacy(Path file) throws IOException {
+        try (ReadableByteChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            return write(source).path();
+        }
+    }
+
+    private StoredFile write(ReadableByteChannel source) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        byte[] header = new byte[SNIFF_BYTES];
+        int headerLength = 0;
+        String contentType = null;
+        long size = 0;
+
+        Path temp = tempDir.resolve("upload-" + UUID.randomUUID() + ".part");
+        try {
+            try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                while (source.read(buffer) >= 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxSize) {
+                        throw tooLarge();
+                    }
+                    if (headerLength < SNIFF_BYTES && buffer.hasRemaining()) {
+                        int length = Math.min(SNIFF_BYTES - headerLength, buffer.remaining());
+                        buffer.get(buffer.position(), header, headerLength, length);
+                        headerLength += length;
+                        if (headerLength == SNIFF_BYTES) {
+                            contentType = sniff(header, headerLength);
+                        }
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            if (size == 0) {
+                throw new BadRequestException("El archivo enviado está vacío");
+            }
+            if (contentType == null) {
+                contentType = sniff(header, headerLength);
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String path = sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256
+                    + EXTENSIONS.get(contentType);
+            Path destination = uploadDir.resolve(path);
+            if (!touch(destination)) {
+                Files.createDirectories(destination.getParent());
+                Files.move(temp, destination, StandardCopyOption.ATOMIC_MOVE);
+                imageDerivativeService.generateAll(path);
+            }
+            return new StoredFile(path, contentType, size, sha256);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+    }
 
-        return ServletUriComponentsBuilder.fromCurrentContextPath()
+    private UploadResponse toResponse(StoredFile stored) {
+        String imageUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/uploads/")
-                .path(fileName)
+                .path(stored.path())
                 .toUriString();
+        return new UploadResponse(imageUrl, stored.contentType(), stored.size(), stored.sha256());
+    }
+
+    private void checkDeclaredSize(long size) {
+        if (size > maxSize) {
+            throw tooLarge();
+        }
+    }
+
+    private PayloadTooLargeException tooLarge() {
+        return new PayloadTooLargeException(
+                "El archivo supera el tamaño máximo permitido de " + DataSize.ofBytes(maxSize).toMegabytes() + " MB");
+    }
+
+    private String sniff(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return "image/png";
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8'
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return "image/gif";
+        }
+        if (length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        throw new BadRequestException("Formato de imagen no soportado. Usa JPEG, PNG, GIF o WebP.");
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+
+    private record StoredFile(String path, String contentType, long size, String sha256) {
     }
 }
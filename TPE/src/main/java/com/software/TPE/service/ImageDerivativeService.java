@@ -0,0 +1,269 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.ImageVariant;
+import com.software.TPE.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+    private static final int FULL_WIDTH = Integer.MAX_VALUE;
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    private final Path uploadDir;
+    private final Path derivativeDir;
+    private final Path tempDir;
+    private final List<Integer> widths;
+    private final float quality;
+    private final long lazyTimeoutNanos;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Path, CompletableFuture<Optional<Path>>> inFlight = new ConcurrentHashMap<>();
+    private final Timer generationTimer;
+    private final Counter rejected;
+
+    public ImageDerivativeService(@Value("${file.upload-dir}") String uploadDir,
+                                  @Value("${images.derivatives.widths:320,640,1280}") List<Integer> widths,
+                                  @Value("${images.derivatives.quality:0.8}") float quality,
+                                  @Value("${images.derivatives.threads:2}") int threads,
+                                  @Value("${images.derivatives.queue-capacity:100}") int queueCapacity,
+                                  @Value("${images.derivatives.lazy-timeout:PT0.25S}") Duration lazyTimeout,
+                                  MeterRegistry meterRegistry) {
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.derivativeDir = this.uploadDir.resolve(".derivatives");
+        this.tempDir = this.uploadDir.resolve(".tmp");
+        this.widths = widths.stream().filter(width -> width > 0).distinct().sorted().toList();
+        this.quality = quality;
+        this.lazyTimeoutNanos = lazyTimeout.toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = Thread.ofPlatform().name("image-derivatives-" + sequence.incrementAndGet())
+                            .daemon(true).unstarted(runnable);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.generationTimer = Timer.builder("images.derivatives.generate").register(meterRegistry);
+        this.rejected = Counter.builder("images.derivatives.rejected").register(meterRegistry);
+        Gauge.builder("images.derivatives.queue-depth", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        try {
+            Files.createDirectories(derivativeDir);
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo crear el directorio de imágenes derivadas", e);
+        }
+    }
+
+    public void generateAll(String path) {
+        Path source = uploadDir.resolve(path);
+        for (int width : widths) {
+            submit(source, width);
+        }
+        submit(source, FULL_WIDTH);
+    }
+
+    public Optional<ImageVariant> resolve(String path, Integer requestedWidth) {
+        if (requestedWidth != null && requestedWidth <= 0) {
+            throw new BadRequestException("El ancho solicitado debe ser mayor a 0");
+        }
+        Path source = uploadDir.resolve(path).normalize();
+        if (!isUpload(source) || !Files.isRegularFile(source)) {
+            return Optional.empty();
+        }
+        ImageVariant original = new ImageVariant(source, null);
+        if (requestedWidth == null) {
+            return Optional.of(original);
+        }
+
+        int width = widths.stream().filter(candidate -> candidate >= requestedWidth).findFirst().orElse(FULL_WIDTH);
+        Path target = derivativePath(source, width);
+        if (Files.isRegularFile(target)) {
+            return Optional.of(new ImageVariant(target, suffix(width)));
+        }
+
+        CompletableFuture<Optional<Path>> pending = submit(source, width);
+        if (pending == null) {
+            return Optional.of(original);
+        }
+        try {
+            return Optional.of(pending.get(lazyTimeoutNanos, TimeUnit.NANOSECONDS)
+                    .map(generated -> new ImageVariant(generated, suffix(width)))
+                    .orElse(original));
+        } catch (TimeoutException | ExecutionException ex) {
+            return Optional.of(original);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.of(original);
+        }
+    }
+
+    public void deleteDerivatives(String path) throws IOException {
+        Path source = uploadDir.resolve(path).normalize();
+        for (int width : widths) {
+            Files.deleteIfExists(derivativePath(source, width));
+        }
+        Files.deleteIfExists(derivativePath(source, FULL_WIDTH));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Optional<Path>> submit(Path source, int width) {
+        Path target = derivativePath(source, width);
+        CompletableFuture<Optional<Path>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<Path>> existing = inFlight.putIfAbsent(target, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(generationTimer.record(() -> generate(source, width, target)));
+                } catch (RuntimeException ex) {
+                    created.completeExceptionally(ex);
+                } finally {
+                    inFlight.remove(target, created);
+                }
+            });
+            return created;
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            inFlight.remove(target, created);
+            return null;
+        }
+    }
+
+    private Optional<Path> generate(Path source, int width, Path target) {
+        if (Files.isRegularFile(target)) {
+            return Optional.of(target);
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > MAX_SOURCE_PIXELS) {
+                    log.warn("Imagen demasiado grande para generar derivados: {}", source.getFileName());
+                    return Optional.empty();
+                }
+
+                int targetWidth = Math.min(width, sourceWidth);
+                int targetHeight = (int) Math.max(1, Math.round((double) sourceHeight * targetWidth / sourceWidth));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, sourceWidth / (targetWidth * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = scaled.createGraphics();
+                try {
+                    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, targetWidth, targetHeight);
+                    graphics.drawImage(decoded, 0, 0, targetWidth, targetHeight, null);
+                } finally {
+                    graphics.dispose();
+                }
+                writeJpeg(scaled, target);
+                return Optional.of(target);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException ex) {
+            log.warn("No se pudo generar el derivado {} de {}: {}", target.getFileName(), source.getFileName(),
+                    ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        Files.createDirectories(target.getParent());
+        Path temp = tempDir.resolve("derivative-" + UUID.randomUUID() + ".part");
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private boolean isUpload(Path source) {
+        if (!source.startsWith(uploadDir) || source.equals(uploadDir)) {
+            return false;
+        }
+        for (Path segment : uploadDir.relativize(source)) {
+            if (segment.toString().startsWith(".")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path derivativePath(Path source, int width) {
+        return derivativeDir.resolve(uploadDir.relativize(source) + "-" + suffix(width) + ".jpg");
+    }
+
+    private String suffix(int width) {
+        return width == FULL_WIDTH ? "full" : Integer.toString(width);
+    }
+}
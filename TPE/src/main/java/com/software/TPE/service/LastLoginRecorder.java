@@ -0,0 +1,55 @@
+package com.software.TPE.service;
+
+import com.software.TPE.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class LastLoginRecorder {
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+
+    public LastLoginRecorder(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.flushTimer = Timer.builder("users.last-login.flush").register(meterRegistry);
+        Gauge.builder("users.last-login.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void record(String userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, latest) -> latest.isAfter(current) ? latest : current);
+    }
+
+    @Scheduled(fixedDelayString = "${users.last-login.flush-interval:PT30S}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, LocalDateTime> snapshot = new HashMap<>(pending);
+        try {
+            flushTimer.record(() -> userRepository.updateLastLogins(snapshot));
+            snapshot.forEach(pending::remove);
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo guardar el último acceso de {} usuarios: {}", snapshot.size(), ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
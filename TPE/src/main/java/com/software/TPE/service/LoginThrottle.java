@@ -0,0 +1,65 @@
+package com.software.TPE.service;
+
+import com.software.TPE.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class LoginThrottle {
+
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public LoginThrottle(@Value("${auth.throttle.email.capacity:10}") int emailCapacity,
+                         @Value("${auth.throttle.email.period:PT1M}") Duration emailPeriod,
+                         @Value("${auth.throttle.ip.capacity:60}") int ipCapacity,
+                         @Value("${auth.throttle.ip.period:PT1M}") Duration ipPeriod) {
+        this.emailLimit = new Limit(emailCapacity, emailPeriod);
+        this.ipLimit = new Limit(ipCapacity, ipPeriod);
+    }
+
+    public void acquire(String email, String clientIp) {
+        if (clientIp != null && !tryAcquire("ip:" + clientIp, ipLimit)) {
+            throw new TooManyRequestsException("Demasiados intentos desde esta dirección. Intenta nuevamente más tarde.");
+        }
+        if (email != null && !tryAcquire("email:" + email.toLowerCase(Locale.ROOT), emailLimit)) {
+            throw new TooManyRequestsException("Demasiados intentos para esta cuenta. Intenta nuevamente más tarde.");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.throttle.prune-interval:PT5M}")
+    public void prune() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(theoreticalArrival -> theoreticalArrival.get() - now <= 0);
+    }
+
+    private boolean tryAcquire(String key, Limit limit) {
+        AtomicLong theoreticalArrival = buckets.computeIfAbsent(key, ignored -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long base = current - now > 0 ? current : now;
+            if (base - now > limit.burstNanos()) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, base + limit.intervalNanos())) {
+                return true;
+            }
+        }
+    }
+
+    private record Limit(long intervalNanos, long burstNanos) {
+
+        Limit(int capacity, Duration period) {
+            this(period.toNanos() / Math.max(1, capacity),
+                    period.toNanos() / Math.max(1, capacity) * (Math.max(1, capacity) - 1));
+        }
+    }
+}
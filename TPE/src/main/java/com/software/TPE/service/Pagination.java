@@ -0,0 +1,57 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.CursorPage;
+import com.software.TPE.dto.PageCursor;
+import com.software.TPE.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+final class Pagination {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private Pagination() {
+    }
+
+    static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    static <E, R> CursorPage<R> page(List<E> fetched, int limit,
+                                     Function<E, PageCursor> cursorOf,
+                                     Function<E, R> mapper) {
+        boolean hasMore = fetched.size() > limit;
+        List<E> items = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    static String key(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+
+    static <E, R> CursorPage<R> keyPage(List<E> fetched, int limit, Function<E, String> keyOf,
+                                        Function<E, R> mapper) {
+        boolean hasMore = fetched.size() > limit;
+        List<E> items = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore
+                ? Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        keyOf.apply(items.get(items.size() - 1)).getBytes(StandardCharsets.UTF_8))
+                : null;
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,66 @@
+package com.software.TPE.service;
+
+import com.software.TPE.cache.BoundedCache;
+import com.software.TPE.dto.CategoryCountResponse;
+import com.software.TPE.dto.CursorPage;
+import com.software.TPE.dto.PostResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+public class PostCache {
+
+    private final BoundedCache<FeedKey, CursorPage<PostResponse>> feed;
+    private final BoundedCache<String, PostResponse> posts;
+    private final BoundedCache<String, List<CategoryCountResponse>> categories;
+
+    public PostCache(@Value("${cache.posts.max-size:1000}") int maxSize,
+                     @Value("${cache.posts.ttl:PT1M}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.feed = new BoundedCache<>(maxSize, ttl);
+        this.posts = new BoundedCache<>(maxSize, ttl);
+        this.categories = new BoundedCache<>(1, ttl);
+        feed.registerMetrics(meterRegistry, "posts.feed");
+        posts.registerMetrics(meterRegistry, "posts.byId");
+        categories.registerMetrics(meterRegistry, "posts.categories");
+    }
+
+    public CursorPage<PostResponse> feed(String category, String cursor, Integer limit, String fields,
+                                         Supplier<CursorPage<PostResponse>> loader) {
+        return feed.get(new FeedKey(category, cursor, limit, fields), loader);
+    }
+
+    public List<CategoryCountResponse> categories(Supplier<List<CategoryCountResponse>> loader) {
+        return categories.get("published", loader);
+    }
+
+    public PostResponse post(String postId, Supplier<PostResponse> loader) {
+        return posts.get(postId, loader);
+    }
+
+    public void evictPost(String postId) {
+        posts.invalidate(postId);
+    }
+
+    public void evict(String postId, boolean feedChanged) {
+        posts.invalidate(postId);
+        if (feedChanged) {
+            feed.invalidateAll();
+            categories.invalidateAll();
+        }
+    }
+
+    public void evictAll() {
+        posts.invalidateAll();
+        feed.invalidateAll();
+        categories.invalidateAll();
+    }
+
+    private record FeedKey(String category, String cursor, Integer limit, String fields) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.PostEventResponse;
+import com.software.TPE.dto.PostResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class PostEventBroadcaster {
+
+    public static final String PUBLISHED = "published";
+    public static final String REMOVED = "removed";
+    private static final String RESYNC = "resync";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<Event> history = new ArrayDeque<>();
+    private final ExecutorService dispatcher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("post-events-", 0).factory()
+    );
+    private final long timeoutMillis;
+    private final int historySize;
+    private final int queueSize;
+    private final Counter dropped;
+    private long sequence = System.currentTimeMillis();
+
+    public PostEventBroadcaster(@Value("${posts.stream.timeout:PT30M}") Duration timeout,
+                                @Value("${posts.stream.history-size:256}") int historySize,
+                                @Value("${posts.stream.queue-size:64}") int queueSize,
+                                MeterRegistry meterRegistry) {
+        this.timeoutMillis = timeout.toMillis();
+        this.historySize = historySize;
+        this.queueSize = queueSize;
+        this.dropped = Counter.builder("posts.stream.dropped").register(meterRegistry);
+        Gauge.builder("posts.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, queueSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        Long lastId = parseEventId(lastEventId);
+        synchronized (history) {
+            subscribers.add(subscriber);
+            if (lastId != null) {
+                if (!coveredByHistory(lastId)) {
+                    enqueue(subscriber, SseEmitter.event().name(RESYNC).data(""));
+                }
+                history.stream()
+                        .filter(event -> event.id() > lastId)
+                        .forEach(event -> enqueue(subscriber, toSse(event)));
+            }
+        }
+        return emitter;
+    }
+
+    public void publish(String type, PostResponse post) {
+        PostEventResponse payload = new PostEventResponse(
+                post.id(),
+                post.title(),
+                post.authorName(),
+                post.category(),
+                post.imageUrl(),
+                post.createdAt()
+        );
+        synchronized (history) {
+            Event event = new Event(++sequence, type, payload);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, toSse(event));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${posts.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private boolean coveredByHistory(long lastId) {
+        if (lastId == sequence) {
+            return true;
+        }
+        return !history.isEmpty() && lastId < sequence && history.peekFirst().id() <= lastId + 1;
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            dropped.increment();
+            disconnect(subscriber, new IllegalStateException("El cliente no consume los eventos a tiempo"));
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException ex) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    disconnect(subscriber, ex);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void disconnect(Subscriber subscriber, Throwable cause) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(Event event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.id()))
+                .name(event.type())
+                .data(event.payload(), MediaType.APPLICATION_JSON);
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            log.debug("Last-Event-ID inválido: {}", lastEventId);
+            return null;
+        }
+    }
+
+    private record Event(long id, String type, PostEventResponse payload) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.software.TPE.service;
+
+import com.software.TPE.cache.BloomFilter;
+import com.software.TPE.cache.BoundedCache;
+import com.software.TPE.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class PostExistenceFilter {
+
+    private final PostRepository postRepository;
+    private final BoundedCache<String, Boolean> recent;
+    private final BoundedCache<String, Boolean> absent;
+    private final long expectedPosts;
+    private final double falsePositiveRate;
+    private final Duration clockSkew;
+    private final Object lock = new Object();
+    private final Object syncLock = new Object();
+    private volatile BloomFilter filter;
+    private Set<String> addedDuringRebuild;
+    private Instant syncedAt;
+
+    public PostExistenceFilter(PostRepository postRepository,
+                               @Value("${posts.existence.expected-posts:1000000}") long expectedPosts,
+                               @Value("${posts.existence.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${posts.existence.recent-size:10000}") int recentSize,
+                               @Value("${posts.existence.negative-ttl:PT5S}") Duration negativeTtl,
+                               @Value("${posts.existence.clock-skew:PT1M}") Duration clockSkew,
+                               MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.expectedPosts = expectedPosts;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clockSkew = clockSkew;
+        this.recent = new BoundedCache<>(recentSize, Duration.ofHours(1));
+        this.recent.registerMetrics(meterRegistry, "posts.existence");
+        this.absent = new BoundedCache<>(recentSize, negativeTtl);
+        this.absent.registerMetrics(meterRegistry, "posts.existence.absent");
+    }
+
+    public boolean exists(String postId) {
+        return recent.get(postId, () -> {
+            BloomFilter current = filter;
+            if (current != null && !current.mightContain(postId)) {
+                return null;
+            }
+            if (absent.getIfPresent(postId) != null) {
+                return null;
+            }
+            if (postRepository.existsById(postId)) {
+                return Boolean.TRUE;
+            }
+            absent.put(postId, Boolean.TRUE);
+            return null;
+        }) != null;
+    }
+
+    public void add(String postId) {
+        absent.invalidate(postId);
+        synchronized (lock) {
+            if (filter != null) {
+                filter.put(postId);
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(postId);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${posts.existence.initial-delay:PT5S}",
+            fixedDelayString = "${posts.existence.rebuild-interval:PT24H}")
+    public void rebuild() {
+        synchronized (syncLock) {
+            synchronized (lock) {
+                addedDuringRebuild = ConcurrentHashMap.newKeySet();
+            }
+            try {
+                Instant startedAt = Instant.now();
+                BloomFilter rebuilt = BloomFilter.create(expectedPosts, falsePositiveRate);
+                postRepository.forEachId(rebuilt::put);
+                synchronized (lock) {
+                    addedDuringRebuild.forEach(rebuilt::put);
+                    filter = rebuilt;
+                }
+                syncedAt = startedAt;
+            } catch (DataAccessException ex) {
+                log.warn("No se pudo reconstruir el filtro de noticias existentes: {}", ex.getMessage());
+            } finally {
+                synchronized (lock) {
+                    addedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${posts.existence.refresh-interval:PT2S}",
+            fixedDelayString = "${posts.existence.refresh-interval:PT2S}")
+    public void refresh() {
+        synchronized (syncLock) {
+            BloomFilter current = filter;
+            if (current == null) {
+                return;
+            }
+            try {
+                Instant startedAt = Instant.now();
+                postRepository.forEachIdCreatedSince(syncedAt.minus(clockSkew), current::put);
+                syncedAt = startedAt;
+            } catch (DataAccessException ex) {
+                log.warn("No se pudo actualizar el filtro de noticias existentes: {}", ex.getMessage());
+            }
+        }
+    }
+}
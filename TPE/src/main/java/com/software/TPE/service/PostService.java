@@ -1,36 +1,56 @@
 package com.software.TPE.service;
 
+import com.software.TPE.dto.BulkItemResponse;
+import com.software.TPE.dto.BulkReviewPostRequest;
+import com.software.TPE.dto.CategoryCountResponse;
 import com.software.TPE.dto.CreatePostRequest;
+import com.software.TPE.dto.CursorPage;
+import com.software.TPE.dto.PageCursor;
 import com.software.TPE.dto.PostResponse;
 import com.software.TPE.dto.ReviewPostRequest;
+import com.software.TPE.dto.UserDto;
 import com.software.TPE.exception.BadRequestException;
+import com.software.TPE.exception.ConflictException;
 import com.software.TPE.exception.ResourceNotFoundException;
 import com.software.TPE.model.Post;
 import com.software.TPE.model.PostStatus;
-import com.software.TPE.model.User;
 import com.software.TPE.model.UserStatus;
 import com.software.TPE.repository.PostRepository;
-import com.software.TPE.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final Set<String> SUMMARY_FIELDS = Set.of(
+            "title", "authorId", "authorName", "category", "imageUrl", "status", "commentCount", "createdAt"
+    );
+    private static final Set<String> BULK_REVIEW_FIELDS = Set.of(
+            "title", "authorName", "category", "imageUrl", "status", "createdAt", "version"
+    );
+    private static final String SEARCH_CURSOR_SEPARATOR = ":";
+
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final PostCache postCache;
+    private final PostEventBroadcaster postEventBroadcaster;
+    private final PostExistenceFilter postExistenceFilter;
 
     public PostResponse create(CreatePostRequest request) {
-        User author = userRepository.findById(request.authorId())
+        UserDto author = userService.findCached(request.authorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Autor no encontrado"));
 
-        if (author.getStatus() != UserStatus.ACTIVE) {
+        if (author.status() != UserStatus.ACTIVE) {
             throw new BadRequestException("El usuario no puede crear publicaciones en este momento");
         }
 
@@ -38,8 +58,8 @@ public class PostService {
                 .id(UUID.randomUUID().toString())
                 .title(request.title())
                 .content(request.content())
-                .authorId(author.getId())
-                .authorName(StringUtils.hasText(request.authorName()) ? request.authorName() : author.getName())
+                .authorId(author.id())
+                .authorName(StringUtils.hasText(request.authorName()) ? request.authorName() : author.name())
                 .category(request.category())
                 .imageUrl(request.imageUrl())
                 .status(PostStatus.PENDING)
@@ -48,43 +68,115 @@ public class PostService {
                 .build();
 
         Post saved = postRepository.save(post);
+        postExistenceFilter.add(saved.getId());
         return toResponse(saved);
     }
 
-    public List<PostResponse> findAll() {
-        return postRepository.findAll().stream()
+    public List<PostResponse> findAll(String fields) {
+        return postRepository.findAllWithFields(selectFields(fields)).stream()
                 .map(this::toResponse)
                 .toList();
     }
 
-    public List<PostResponse> findByAuthor(String authorId) {
-        return postRepository.findByAuthorIdOrderByCreatedAtDesc(authorId).stream()
-                .map(this::toResponse)
-                .toList();
+    public CursorPage<PostResponse> findByAuthor(String authorId, String cursor, Integer limit, String fields) {
+        int pageSize = Pagination.limit(limit);
+        return toPage(postRepository.findPageByAuthorId(
+                authorId, PageCursor.decode(cursor), pageSize + 1, selectFields(fields)), pageSize);
     }
 
-    public List<PostResponse> findPending() {
-        return postRepository.findByStatusOrderByCreatedAtDesc(PostStatus.PENDING).stream()
-                .map(this::toResponse)
-                .toList();
+    public CursorPage<PostResponse> findPending(String cursor, Integer limit, String fields) {
+        int pageSize = Pagination.limit(limit);
+        return toPage(postRepository.findPageByStatus(
+                PostStatus.PENDING, PageCursor.decode(cursor), pageSize + 1, selectFields(fields)), pageSize);
     }
 
-    public List<PostResponse> findPublished() {
-        return postRepository.findByStatusOrderByCreatedAtDesc(PostStatus.APPROVED).stream()
-                .map(this::toResponse)
-                .toList();
+    public CursorPage<PostResponse> findPublished(String category, String cursor, Integer limit, String fields) {
+        int pageSize = Pagination.limit(limit);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Set<String> selectedFields = selectFields(fields);
+        String selectedCategory = StringUtils.hasText(category) ? category.trim() : null;
+        return postCache.feed(selectedCategory, cursor, pageSize, fields, () -> toPage(selectedCategory == null
+                ? postRepository.findPageByStatus(PostStatus.APPROVED, pageCursor, pageSize + 1, selectedFields)
+                : postRepository.findPageByStatusAndCategory(
+                        PostStatus.APPROVED, selectedCategory, pageCursor, pageSize + 1, selectedFields), pageSize));
+    }
+
+    public List<CategoryCountResponse> findPublishedCategories() {
+        return postCache.categories(() -> postRepository.countByCategory(PostStatus.APPROVED));
+    }
+
+    public CursorPage<PostResponse> search(String text, String cursor, Integer limit) {
+        if (text == null || text.isBlank()) {
+            throw new BadRequestException("El término de búsqueda es obligatorio");
+        }
+        int pageSize = Pagination.limit(limit);
+        Double afterScore = null;
+        String afterId = null;
+        String key = Pagination.key(cursor);
+        if (key != null) {
+            int separator = key.indexOf(SEARCH_CURSOR_SEPARATOR);
+            try {
+                afterScore = Double.valueOf(key.substring(0, separator));
+                afterId = key.substring(separator + 1);
+            } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+                throw new BadRequestException("Cursor de paginación inválido");
+            }
+        }
+        List<Post> posts = postRepository.searchPublished(text.trim(), afterScore, afterId, pageSize + 1);
+        return Pagination.keyPage(posts, pageSize,
+                post -> post.getScore() + SEARCH_CURSOR_SEPARATOR + post.getId(), this::toResponse);
     }
 
     public PostResponse reviewPost(String postId, ReviewPostRequest request) {
-        Post post = getPost(postId);
-        post.setStatus(request.status());
+        Post review = new Post();
+        applyReview(review, request.status(), request.feedback(), request.deleteReason());
+        LocalDateTime now = LocalDateTime.now();
+
+        Post post = postRepository.updateReview(postId, request.version(), review.getStatus(), review.getFeedback(),
+                        review.getDeleteReason(), now, Set.of())
+                .orElseThrow(() -> {
+                    if (isConflict(postId, request.version())) {
+                        return new ConflictException("La noticia fue modificada por otro moderador. Recarga e intenta nuevamente.");
+                    }
+                    return new ResourceNotFoundException("Noticia no encontrada");
+                });
+        return afterReview(post, review, now);
+    }
+
+    public List<BulkItemResponse> reviewPosts(BulkReviewPostRequest request) {
+        Post review = new Post();
+        applyReview(review, request.status(), request.feedback(), request.deleteReason());
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> versions = request.versions() == null ? Map.of() : request.versions();
+
+        List<BulkItemResponse> results = new ArrayList<>();
+        for (String id : request.ids().stream().distinct().toList()) {
+            Long expectedVersion = versions.get(id);
+            Optional<Post> previous = postRepository.updateReview(id, expectedVersion, review.getStatus(),
+                    review.getFeedback(), review.getDeleteReason(), now, BULK_REVIEW_FIELDS);
+            if (previous.isPresent()) {
+                afterReview(previous.get(), review, now);
+                results.add(new BulkItemResponse(id, true, null));
+            } else if (isConflict(id, expectedVersion)) {
+                results.add(new BulkItemResponse(id, false, "La noticia fue modificada por otro moderador"));
+            } else {
+                results.add(new BulkItemResponse(id, false, "Noticia no encontrada"));
+            }
+        }
+        return results;
+    }
+
+    public PostResponse getById(String postId) {
+        return postCache.post(postId, () -> toResponse(getPost(postId)));
+    }
+
+    private void applyReview(Post post, PostStatus status, String feedback, String deleteReason) {
+        post.setStatus(status);
 
-        String feedback = request.feedback();
         if (feedback != null && feedback.isBlank()) {
             feedback = null;
         }
 
-        String deleteReason = request.deleteReason();
         if (deleteReason != null && deleteReason.isBlank()) {
             deleteReason = null;
         }
@@ -92,18 +184,35 @@ public class PostService {
         post.setFeedback(feedback);
         post.setDeleteReason(deleteReason);
 
-        if (request.status() == PostStatus.APPROVED) {
+        if (status == PostStatus.APPROVED) {
             post.setFeedback(null);
             post.setDeleteReason(null);
         }
+    }
 
-        post.setUpdatedAt(LocalDateTime.now());
+    private long nextVersion(Post post) {
+        return post.getVersion() == null ? 1 : post.getVersion() + 1;
+    }
 
-        return toResponse(postRepository.save(post));
+    private boolean isConflict(String postId, Long expectedVersion) {
+        return expectedVersion != null && postRepository.existsById(postId);
     }
 
-    public PostResponse getById(String postId) {
-        return toResponse(getPost(postId));
+    private PostResponse afterReview(Post saved, Post review, LocalDateTime updatedAt) {
+        boolean wasPublished = saved.getStatus() == PostStatus.APPROVED;
+        applyReview(saved, review.getStatus(), review.getFeedback(), review.getDeleteReason());
+        saved.setUpdatedAt(updatedAt);
+        saved.setVersion(nextVersion(saved));
+        boolean isPublished = saved.getStatus() == PostStatus.APPROVED;
+        postCache.evict(saved.getId(), wasPublished || isPublished);
+
+        PostResponse response = toResponse(saved);
+        if (!wasPublished && isPublished) {
+            postEventBroadcaster.publish(PostEventBroadcaster.PUBLISHED, response);
+        } else if (wasPublished && !isPublished) {
+            postEventBroadcaster.publish(PostEventBroadcaster.REMOVED, response);
+        }
+        return response;
     }
 
     private Post getPost(String id) {
@@ -111,6 +220,14 @@ public class PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Noticia no encontrada"));
     }
 
+    private Set<String> selectFields(String fields) {
+        return FieldSelection.parse(fields, PostResponse.class, SUMMARY_FIELDS);
+    }
+
+    private CursorPage<PostResponse> toPage(List<Post> posts, int pageSize) {
+        return Pagination.page(posts, pageSize, post -> new PageCursor(post.getCreatedAt(), post.getId()), this::toResponse);
+    }
+
     private PostResponse toResponse(Post post) {
         return new PostResponse(
                 post.getId(),
@@ -123,8 +240,10 @@ public class PostService {
                 post.getFeedback(),
                 post.getDeleteReason(),
                 post.getStatus(),
+                post.getCommentCount(),
                 post.getCreatedAt(),
-                post.getUpdatedAt()
+                post.getUpdatedAt(),
+                post.getVersion()
         );
     }
 }
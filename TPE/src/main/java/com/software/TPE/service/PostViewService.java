@@ -0,0 +1,126 @@
+package com.software.TPE.service;
+
+import com.software.TPE.cache.BoundedCache;
+import com.software.TPE.dto.MostViewedPostResponse;
+import com.software.TPE.dto.PostViewCount;
+import com.software.TPE.exception.BadRequestException;
+import com.software.TPE.model.Post;
+import com.software.TPE.model.PostStatus;
+import com.software.TPE.repository.PostRepository;
+import com.software.TPE.repository.PostViewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class PostViewService {
+
+    private static final int MAX_HOURS = 24 * 30;
+    private static final Set<String> RANKING_FIELDS = Set.of(
+            "title", "authorName", "category", "imageUrl", "status", "createdAt"
+    );
+
+    private final PostViewRepository postViewRepository;
+    private final PostRepository postRepository;
+    private final ConcurrentHashMap<String, Long> counters = new ConcurrentHashMap<>();
+    private final BoundedCache<MostViewedKey, List<MostViewedPostResponse>> mostViewed;
+    private final Timer flushTimer;
+
+    public PostViewService(PostViewRepository postViewRepository,
+                           PostRepository postRepository,
+                           @Value("${posts.views.ranking-ttl:PT1M}") Duration rankingTtl,
+                           MeterRegistry meterRegistry) {
+        this.postViewRepository = postViewRepository;
+        this.postRepository = postRepository;
+        this.mostViewed = new BoundedCache<>(64, rankingTtl);
+        this.mostViewed.registerMetrics(meterRegistry, "posts.mostViewed");
+        this.flushTimer = Timer.builder("posts.views.flush").register(meterRegistry);
+    }
+
+    public void record(String postId) {
+        counters.merge(postId, 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${posts.views.flush-interval:PT10S}")
+    public synchronized void flush() {
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> pending = new HashMap<>(counters);
+        try {
+            flushTimer.record(() -> postViewRepository.incrementViews(
+                    pending, LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)));
+        } catch (DataAccessException ex) {
+            log.warn("No se pudieron guardar las visitas de {} noticias: {}", pending.size(), ex.getMessage());
+            return;
+        }
+        pending.forEach((postId, flushed) -> counters.compute(postId,
+                (id, views) -> views == null || views <= flushed ? null : views - flushed));
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    public List<MostViewedPostResponse> findMostViewed(Integer hours, Integer limit) {
+        int window = hours == null ? 24 : hours;
+        if (window <= 0 || window > MAX_HOURS) {
+            throw new BadRequestException("El período debe estar entre 1 y " + MAX_HOURS + " horas");
+        }
+        int size = Pagination.limit(limit);
+        return mostViewed.get(new MostViewedKey(window, size), () -> loadMostViewed(window, size));
+    }
+
+    private List<MostViewedPostResponse> loadMostViewed(int hours, int limit) {
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours - 1L);
+        List<PostViewCount> ranking = postViewRepository.findMostViewedSince(since, limit * 2);
+        Map<String, Post> posts = postRepository.findAllByIdWithFields(
+                        ranking.stream().map(PostViewCount::postId).toList(), RANKING_FIELDS)
+                .stream()
+                .filter(post -> post.getStatus() == PostStatus.APPROVED)
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return ranking.stream()
+                .map(count -> {
+                    Post post = posts.get(count.postId());
+                    if (post == null) {
+                        return null;
+                    }
+                    return new MostViewedPostResponse(
+                            post.getId(),
+                            post.getTitle(),
+                            post.getAuthorName(),
+                            post.getCategory(),
+                            post.getImageUrl(),
+                            post.getCreatedAt(),
+                            count.views()
+                    );
+                })
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .toList();
+    }
+
+    private record MostViewedKey(int hours, int limit) {
+    }
+}
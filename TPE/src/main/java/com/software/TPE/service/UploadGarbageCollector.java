@@ -0,0 +1,278 @@
+package com.software.TPE.service;
+
+import com.software.TPE.model.LegacyUpload;
+import com.software.TPE.repository.AdvertisementRepository;
+import com.software.TPE.repository.LegacyUploadRepository;
+import com.software.TPE.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class UploadGarbageCollector {
+
+    private static final Pattern STORED_FILE = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z]+");
+    private static final Pattern REFERENCED_FILE = Pattern.compile("/uploads/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.");
+    private static final Pattern LEGACY_FILE = Pattern.compile("/uploads/([^/?#]+)(?:[?#].*)?$");
+    private static final long THROTTLE_PAUSE_MILLIS = 100;
+    private static final long[] EMPTY = new long[0];
+
+    private final PostRepository postRepository;
+    private final AdvertisementRepository advertisementRepository;
+    private final LegacyUploadRepository legacyUploadRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final Path uploadDir;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+    private final int filesPerPause;
+    private final int maxDeletesPerRun;
+    private final Counter reclaimedBytes;
+    private final Counter deletedFiles;
+    private final Timer runTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor;
+
+    public UploadGarbageCollector(PostRepository postRepository,
+                                  AdvertisementRepository advertisementRepository,
+                                  LegacyUploadRepository legacyUploadRepository,
+                                  ImageDerivativeService imageDerivativeService,
+                                  @Value("${file.upload-dir}") String uploadDir,
+                                  @Value("${uploads.gc.enabled:true}") boolean enabled,
+                                  @Value("${uploads.gc.grace-period:P2D}") Duration gracePeriod,
+                                  @Value("${uploads.gc.files-per-second:500}") int filesPerSecond,
+                                  @Value("${uploads.gc.max-deletes-per-run:10000}") int maxDeletesPerRun,
+                                  MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.advertisementRepository = advertisementRepository;
+        this.legacyUploadRepository = legacyUploadRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.gracePeriod = gracePeriod;
+        this.filesPerPause = Math.max(1, (int) (filesPerSecond * THROTTLE_PAUSE_MILLIS / 1000));
+        this.maxDeletesPerRun = maxDeletesPerRun;
+        this.reclaimedBytes = Counter.builder("uploads.gc.reclaimed")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        this.deletedFiles = Counter.builder("uploads.gc.deleted").register(meterRegistry);
+        this.runTimer = Timer.builder("uploads.gc.run").register(meterRegistry);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-gc");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @Scheduled(initialDelayString = "${uploads.gc.initial-delay:PT10M}",
+            fixedDelayString = "${uploads.gc.interval:PT6H}")
+    public void schedule() {
+        if (enabled && running.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    runTimer.record(this::collect);
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void collect() {
+        try {
+            Instant cutoff = Instant.now().minus(gracePeriod);
+            Map<String, String> legacyPaths = legacyPaths();
+            List<Candidate> candidates = sweep(mark(legacyPaths), cutoff);
+            if (candidates.isEmpty()) {
+                return;
+            }
+            LocalDateTime markedAt = LocalDateTime.now();
+            long[] referenced = mark(legacyPaths);
+            long[] recent = EMPTY;
+            long bytes = 0;
+            int deleted = 0;
+            try {
+                for (int i = 0; i < candidates.size(); i++) {
+                    if (i % filesPerPause == 0) {
+                        if (i > 0) {
+                            Thread.sleep(THROTTLE_PAUSE_MILLIS);
+                        }
+                        recent = markCreatedSince(markedAt, legacyPaths);
+                    }
+                    Candidate candidate = candidates.get(i);
+                    if (contains(referenced, candidate.key()) || contains(recent, candidate.key())
+                            || !delete(candidate, cutoff)) {
+                        continue;
+                    }
+                    bytes += candidate.size();
+                    deleted++;
+                }
+            } finally {
+                reclaimedBytes.increment(bytes);
+                deletedFiles.increment(deleted);
+                if (deleted > 0) {
+                    log.info("Se eliminaron {} archivos huérfanos de cargas ({} liberados)", deleted,
+                            DataSize.ofBytes(bytes));
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo recolectar cargas huérfanas: {}", ex.getMessage());
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("No se pudo recorrer el directorio de cargas: {}", ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, String> legacyPaths() {
+        Map<String, String> legacyPaths = new HashMap<>();
+        for (LegacyUpload upload : legacyUploadRepository.findAll()) {
+            legacyPaths.put(upload.getId(), upload.getPath());
+        }
+        return legacyPaths;
+    }
+
+    private long[] mark(Map<String, String> legacyPaths) {
+        LongSetBuilder referenced = new LongSetBuilder();
+        postRepository.forEachUploadUrl(url -> markUrl(url, legacyPaths, referenced));
+        advertisementRepository.forEachUploadUrl(url -> markUrl(url, legacyPaths, referenced));
+        return referenced.build();
+    }
+
+    private long[] markCreatedSince(LocalDateTime since, Map<String, String> legacyPaths) {
+        LongSetBuilder referenced = new LongSetBuilder();
+        postRepository.forEachUploadUrlCreatedSince(since, url -> markUrl(url, legacyPaths, referenced));
+        advertisementRepository.forEachUploadUrlCreatedSince(since, url -> markUrl(url, legacyPaths, referenced));
+        return referenced.build();
+    }
+
+    private void markUrl(String url, Map<String, String> legacyPaths, LongSetBuilder referenced) {
+        if (url == null) {
+            return;
+        }
+        Matcher matcher = REFERENCED_FILE.matcher(url);
+        if (matcher.find()) {
+            referenced.add(key(matcher.group(1)));
+            return;
+        }
+        Matcher legacy = LEGACY_FILE.matcher(url);
+        String migratedPath = legacy.find() ? legacyPaths.get(legacy.group(1)) : null;
+        if (migratedPath != null) {
+            Matcher stored = STORED_FILE.matcher(migratedPath);
+            if (stored.matches()) {
+                referenced.add(key(stored.group(1)));
+            }
+        }
+    }
+
+    private List<Candidate> sweep(long[] referenced, Instant cutoff) throws IOException, InterruptedException {
+        List<Candidate> candidates = new ArrayList<>();
+        int examined = 0;
+        try (Stream<Path> files = Files.walk(uploadDir, 3)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext() && candidates.size() < maxDeletesPerRun) {
+                Path file = iterator.next();
+                if (++examined % filesPerPause == 0) {
+                    Thread.sleep(THROTTLE_PAUSE_MILLIS);
+                }
+                String relative = uploadDir.relativize(file).toString().replace('\\', '/');
+                Matcher matcher = STORED_FILE.matcher(relative);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                long key = key(matcher.group(1));
+                if (contains(referenced, key)) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile() && attributes.lastModifiedTime().toInstant().isBefore(cutoff)) {
+                    candidates.add(new Candidate(file, relative, key, attributes.size()));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private boolean delete(Candidate candidate, Instant cutoff) {
+        try {
+            if (!Files.getLastModifiedTime(candidate.file()).toInstant().isBefore(cutoff)
+                    || !Files.deleteIfExists(candidate.file())) {
+                return false;
+            }
+            imageDerivativeService.deleteDerivatives(candidate.path());
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
+        } catch (IOException ex) {
+            log.warn("No se pudo eliminar la carga huérfana {}: {}", candidate.path(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private static long key(String sha256) {
+        return HexFormat.fromHexDigitsToLong(sha256, 0, 16);
+    }
+
+    private static boolean contains(long[] sortedKeys, long key) {
+        return Arrays.binarySearch(sortedKeys, key) >= 0;
+    }
+
+    private record Candidate(Path file, String path, long key, long size) {
+    }
+
+    private static final class LongSetBuilder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] build() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
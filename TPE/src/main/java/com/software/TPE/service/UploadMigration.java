@@ -0,0 +1,127 @@
+package com.software.TPE.service;
+
+import com.software.TPE.exception.BadRequestException;
+import com.software.TPE.model.LegacyUpload;
+import com.software.TPE.repository.AdvertisementRepository;
+import com.software.TPE.repository.LegacyUploadRepository;
+import com.software.TPE.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class UploadMigration {
+
+    private final FileStorageService fileStorageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final PostRepository postRepository;
+    private final AdvertisementRepository advertisementRepository;
+    private final LegacyUploadRepository legacyUploadRepository;
+    private final PostCache postCache;
+    private final Path uploadDir;
+    private final boolean enabled;
+
+    public UploadMigration(FileStorageService fileStorageService,
+                           ImageDerivativeService imageDerivativeService,
+                           PostRepository postRepository,
+                           AdvertisementRepository advertisementRepository,
+                           LegacyUploadRepository legacyUploadRepository,
+                           PostCache postCache,
+                           @Value("${file.upload-dir}") String uploadDir,
+                           @Value("${uploads.migration.enabled:true}") boolean enabled) {
+        this.fileStorageService = fileStorageService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.postRepository = postRepository;
+        this.advertisementRepository = advertisementRepository;
+        this.legacyUploadRepository = legacyUploadRepository;
+        this.postCache = postCache;
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread migration = Thread.ofPlatform().name("upload-migration").daemon(true).unstarted(this::migrate);
+        migration.setPriority(Thread.MIN_PRIORITY);
+        migration.start();
+    }
+
+    private void migrate() {
+        List<Path> legacyFiles;
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            legacyFiles = files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .toList();
+        } catch (IOException ex) {
+            log.warn("No se pudo listar el directorio de cargas: {}", ex.getMessage());
+            return;
+        }
+        if (legacyFiles.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> newPaths = new HashMap<>();
+        for (Path file : legacyFiles) {
+            String oldPath = file.getFileName().toString();
+            try {
+                newPaths.put(oldPath, fileStorageService.importLegacy(file));
+            } catch (BadRequestException ex) {
+                log.warn("Se omitió {} en la migración de cargas: {}", oldPath, ex.getMessage());
+            } catch (IOException ex) {
+                log.warn("No se pudo migrar {}: {}", oldPath, ex.getMessage());
+            }
+        }
+        if (newPaths.isEmpty()) {
+            return;
+        }
+
+        try {
+            legacyUploadRepository.saveAll(newPaths.entrySet().stream()
+                    .map(entry -> new LegacyUpload(entry.getKey(), entry.getValue()))
+                    .toList());
+            postRepository.replaceUploadPaths(newPaths);
+            advertisementRepository.replaceUploadPaths(newPaths);
+        } catch (DataAccessException ex) {
+            log.warn("Migración de cargas interrumpida; se reintentará en el próximo arranque: {}", ex.getMessage());
+            return;
+        }
+        postCache.evictAll();
+
+        int migrated = 0;
+        for (String oldPath : newPaths.keySet()) {
+            try {
+                Files.delete(uploadDir.resolve(oldPath));
+                imageDerivativeService.deleteDerivatives(oldPath);
+                migrated++;
+            } catch (IOException ex) {
+                log.warn("No se pudo eliminar la carga migrada {}: {}", oldPath, ex.getMessage());
+            }
+        }
+        log.info("Se migraron {} de {} archivos al almacenamiento por contenido", migrated, legacyFiles.size());
+    }
+
+    public Optional<String> findMigratedPath(String legacyPath) {
+        if (legacyPath.isEmpty() || legacyPath.indexOf('/') >= 0 || legacyPath.startsWith(".")) {
+            return Optional.empty();
+        }
+        return legacyUploadRepository.findById(legacyPath).map(LegacyUpload::getPath);
+    }
+}
@@ -0,0 +1,35 @@
+package com.software.TPE.service;
+
+import com.software.TPE.cache.BoundedCache;
+import com.software.TPE.dto.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+public class UserCache {
+
+    private final BoundedCache<String, UserDto> users;
+    private final Timer loadTimer;
+
+    public UserCache(@Value("${cache.users.max-size:10000}") int maxSize,
+                     @Value("${cache.users.ttl:PT5M}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.users = new BoundedCache<>(maxSize, ttl);
+        this.users.registerMetrics(meterRegistry, "users.byId");
+        this.loadTimer = Timer.builder("cache.load").tag("cache", "users.byId").register(meterRegistry);
+    }
+
+    public Optional<UserDto> user(String userId, Supplier<UserDto> loader) {
+        return Optional.ofNullable(users.get(userId, () -> loadTimer.record(loader)));
+    }
+
+    public void evict(String userId) {
+        users.invalidate(userId);
+    }
+}
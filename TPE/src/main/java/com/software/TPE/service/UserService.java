@@ -2,52 +2,78 @@ package com.software.TPE.service;
 
 import com.software.TPE.dto.*;
 import com.software.TPE.exception.BadRequestException;
+import com.software.TPE.exception.ConflictException;
 import com.software.TPE.exception.ResourceNotFoundException;
 import com.software.TPE.exception.UnauthorizedException;
 import com.software.TPE.model.User;
 import com.software.TPE.model.UserAction;
 import com.software.TPE.model.UserRole;
 import com.software.TPE.model.UserStatus;
+import com.software.TPE.repository.UserNames;
 import com.software.TPE.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private static final Set<String> SUMMARY_FIELDS = Set.of("name", "role", "status");
+    private static final Map<String, DirectorySort> DIRECTORY_SORTS = Map.of(
+            "createdAt", new DirectorySort("createdAt", Sort.Direction.DESC,
+                    user -> user.getCreatedAt() == null ? "" : user.getCreatedAt().toString()),
+            "name", new DirectorySort(UserNames.KEY, Sort.Direction.ASC, user -> Objects.requireNonNullElse(user.getNameKey(), "")),
+            "email", new DirectorySort("email", Sort.Direction.ASC, User::getEmail)
+    );
+    private static final char CURSOR_SEPARATOR = '|';
 
-    public UserDto register(UserRegistrationRequest request) {
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final UserCache userCache;
+    private final AuthTokenService authTokenService;
+
+    public UserDto register(UserRegistrationRequest request, String clientIp) {
+        loginThrottle.acquire(null, clientIp);
         String normalizedEmail = request.email().toLowerCase(Locale.ROOT);
-        userRepository.findByEmail(normalizedEmail).ifPresent(user -> {
-            throw new BadRequestException("El correo ya se encuentra registrado");
-        });
 
         User user = User.builder()
                 .id(UUID.randomUUID().toString())
                 .name(request.name())
+                .nameKey(UserNames.key(request.name()))
                 .email(normalizedEmail)
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHasher.encode(request.password()))
                 .role(UserRole.READER)
                 .status(UserStatus.ACTIVE)
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        User saved = userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.insert(user);
+        } catch (DuplicateKeyException ex) {
+            throw new BadRequestException("El correo ya se encuentra registrado");
+        }
+        userCache.evict(saved.getId());
         return toDto(saved);
     }
 
-    public LoginResponse login(LoginRequest request) {
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        loginThrottle.acquire(request.email(), clientIp);
         User user = userRepository.findByEmail(request.email().toLowerCase(Locale.ROOT))
                 .orElseThrow(() -> new UnauthorizedException("Credenciales incorrectas"));
 
@@ -59,33 +85,61 @@ public class UserService {
             throw new UnauthorizedException("La cuenta asociada a este correo ha sido eliminada.");
         }
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHasher.matches(request.password(), user.getPassword())) {
             throw new UnauthorizedException("Credenciales incorrectas");
         }
 
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordHasher.encode(request.password()));
+        }
 
-        String tokenPayload = user.getId() + ":" + System.currentTimeMillis();
-        String token = Base64.getEncoder().encodeToString(tokenPayload.getBytes(StandardCharsets.UTF_8));
+        user.setLastLoginAt(LocalDateTime.now());
+        lastLoginRecorder.record(user.getId(), user.getLastLoginAt());
 
-        return new LoginResponse(toDto(user), token);
+        return new LoginResponse(toDto(user), authTokenService.issue(user));
     }
 
-    public List<UserDto> findAll() {
-        return userRepository.findAll().stream()
-                .map(this::toDto)
-                .toList();
+    public CursorPage<UserDto> findDirectory(String role, String status, String prefix, String sort, String cursor,
+                                             Integer limit, String fields) {
+        UserDirectoryFilter filter = new UserDirectoryFilter(
+                parseEnum(UserRole.class, role, "Rol de usuario no soportado: "),
+                parseEnum(UserStatus.class, status, "Estado de usuario no soportado: "),
+                prefix == null || prefix.isBlank() ? null : prefix.trim()
+        );
+        String sortField = sort == null || sort.isBlank() ? "createdAt" : sort.trim();
+        if (!DIRECTORY_SORTS.containsKey(sortField)) {
+            throw new BadRequestException("Orden no soportado: " + sort);
+        }
+        DirectorySort directorySort = DIRECTORY_SORTS.get(sortField);
+
+        Object afterValue = null;
+        String afterId = null;
+        String key = Pagination.key(cursor);
+        if (key != null) {
+            int separator = key.lastIndexOf(CURSOR_SEPARATOR);
+            if (separator < 0 || separator == key.length() - 1) {
+                throw new BadRequestException("Cursor de paginación inválido");
+            }
+            afterValue = parseSortValue(directorySort, key.substring(0, separator));
+            afterId = key.substring(separator + 1);
+        }
+
+        int pageSize = Pagination.limit(limit);
+        List<User> users = userRepository.findDirectoryPage(filter, directorySort.field(), directorySort.direction(),
+                afterValue, afterId, pageSize + 1, FieldSelection.parse(fields, UserDto.class, SUMMARY_FIELDS));
+        return Pagination.keyPage(users, pageSize,
+                user -> directorySort.key().apply(user) + CURSOR_SEPARATOR + user.getId(), this::toDto);
     }
 
     public UserDto updateRole(String userId, UpdateUserRoleRequest request) {
-        User user = getUser(userId);
-        user.setRole(request.role());
-        return toDto(userRepository.save(user));
+        User saved = userRepository.updateRole(userId, request.version(), request.role())
+                .orElseThrow(() -> missingOrConflict(userId, request.version()));
+        userCache.evict(userId);
+        authTokenService.revoke(userId);
+        return toDto(saved);
     }
 
     public UserDto applyAction(String userId, UserActionRequest request) {
-        User user = getUser(userId);
         UserAction action;
         try {
             action = UserAction.valueOf(request.accion().toUpperCase(Locale.ROOT));
@@ -93,22 +147,59 @@ public class UserService {
             throw new BadRequestException("Acción de usuario no soportada: " + request.accion());
         }
 
-        switch (action) {
-            case BAN -> user.setStatus(UserStatus.BANNED);
-            case UNBAN -> user.setStatus(UserStatus.ACTIVE);
-            case DELETE -> user.setStatus(UserStatus.DELETED);
+        UserStatus status = switch (action) {
+            case BAN -> UserStatus.BANNED;
+            case UNBAN -> UserStatus.ACTIVE;
+            case DELETE -> UserStatus.DELETED;
+        };
+
+        User saved = userRepository.updateStatus(userId, request.version(), status)
+                .orElseThrow(() -> missingOrConflict(userId, request.version()));
+        userCache.evict(userId);
+        if (action != UserAction.UNBAN) {
+            authTokenService.revoke(userId);
         }
-
-        return toDto(userRepository.save(user));
+        return toDto(saved);
     }
 
     public UserDto getById(String userId) {
-        return toDto(getUser(userId));
+        return findCached(userId).orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
     }
 
-    private User getUser(String userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+    public Optional<UserDto> findCached(String userId) {
+        return userCache.user(userId, () -> userRepository.findProfileById(userId).map(this::toDto).orElse(null));
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String errorMessage) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(errorMessage + value);
+        }
+    }
+
+    private Object parseSortValue(DirectorySort directorySort, String value) {
+        if (!directorySort.field().equals("createdAt")) {
+            return value;
+        }
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+
+    private RuntimeException missingOrConflict(String userId, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.existsById(userId)) {
+            return new ConflictException("El usuario fue modificado por otro administrador. Recarga e intenta nuevamente.");
+        }
+        return new ResourceNotFoundException("Usuario no encontrado");
     }
 
     private UserDto toDto(User user) {
@@ -119,7 +210,11 @@ public class UserService {
                 user.getRole(),
                 user.getStatus(),
                 user.getCreatedAt(),
-                user.getLastLoginAt()
+                user.getLastLoginAt(),
+                user.getVersion()
         );
     }
+
+    private record DirectorySort(String field, Sort.Direction direction, Function<User, String> key) {
+    }
 }
@@ -1,16 +1,16 @@
 package com.software.TPE.service;
 
+import com.software.TPE.dto.UserDto;
 import com.software.TPE.dto.WriterApplicationRequest;
 import com.software.TPE.dto.WriterApplicationResponse;
 import com.software.TPE.dto.WriterApplicationUpdateRequest;
 import com.software.TPE.exception.BadRequestException;
+import com.software.TPE.exception.ConflictException;
 import com.software.TPE.exception.ResourceNotFoundException;
-import com.software.TPE.model.User;
 import com.software.TPE.model.UserRole;
 import com.software.TPE.model.UserStatus;
 import com.software.TPE.model.WriterApplication;
 import com.software.TPE.model.WriterApplicationStatus;
-import com.software.TPE.repository.UserRepository;
 import com.software.TPE.repository.WriterApplicationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -25,22 +25,22 @@ import java.util.UUID;
 public class WriterApplicationService {
 
     private final WriterApplicationRepository writerApplicationRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
 
     public WriterApplicationResponse create(WriterApplicationRequest request) {
-        User user = userRepository.findById(request.userId())
+        UserDto user = userService.findCached(request.userId())
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
 
-        if (user.getStatus() != UserStatus.ACTIVE) {
+        if (user.status() != UserStatus.ACTIVE) {
             throw new BadRequestException("El usuario no puede enviar solicitudes en este momento");
         }
 
-        if (user.getRole() == UserRole.WRITER || user.getRole() == UserRole.ADMIN) {
+        if (user.role() == UserRole.WRITER || user.role() == UserRole.ADMIN) {
             throw new BadRequestException("El usuario ya cuenta con privilegios para escribir");
         }
 
         writerApplicationRepository.findByUserIdAndEstadoIn(
-                user.getId(),
+                user.id(),
                 List.of(WriterApplicationStatus.PENDIENTE)
         ).ifPresent(existing -> {
             throw new BadRequestException("Ya tienes una solicitud pendiente de revisión");
@@ -48,7 +48,7 @@ public class WriterApplicationService {
 
         WriterApplication application = WriterApplication.builder()
                 .id(UUID.randomUUID().toString())
-                .userId(user.getId())
+                .userId(user.id())
                 .userName(request.userName())
                 .userEmail(request.userEmail().toLowerCase(Locale.ROOT))
                 .motivo(request.motivo())
@@ -67,11 +67,16 @@ public class WriterApplicationService {
     }
 
     public WriterApplicationResponse updateEstado(String solicitudId, WriterApplicationUpdateRequest request) {
-        WriterApplication application = writerApplicationRepository.findById(solicitudId)
-                .orElseThrow(() -> new ResourceNotFoundException("Solicitud no encontrada"));
+        WriterApplication application = writerApplicationRepository.updateEstado(
+                        solicitudId, request.version(), request.estado())
+                .orElseThrow(() -> {
+                    if (request.version() != null && writerApplicationRepository.existsById(solicitudId)) {
+                        return new ConflictException("La solicitud fue modificada por otro administrador. Recarga e intenta nuevamente.");
+                    }
+                    return new ResourceNotFoundException("Solicitud no encontrada");
+                });
 
-        application.setEstado(request.estado());
-        return toResponse(writerApplicationRepository.save(application));
+        return toResponse(application);
     }
 
     private WriterApplicationResponse toResponse(WriterApplication application) {
@@ -82,7 +87,8 @@ public class WriterApplicationService {
                 application.getUserEmail(),
                 application.getMotivo(),
                 application.getEstado().name().toLowerCase(Locale.ROOT),
-                application.getFechaSolicitud()
+                application.getFechaSolicitud(),
+                application.getVersion()
         );
     }
 }
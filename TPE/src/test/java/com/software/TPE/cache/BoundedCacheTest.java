@@ -0,0 +1,105 @@
+package com.software.TPE.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedCacheTest {
+
+    @Test
+    void servesCachedValueUntilItExpires() throws InterruptedException {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMillis(50));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get("a", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+
+        Thread.sleep(80);
+
+        assertThat(cache.get("a", () -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofMinutes(1));
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.get("a", () -> "stale");
+        cache.get("c", () -> "c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a", () -> "reloaded")).isEqualTo("a");
+        assertThat(cache.get("b", () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    void doesNotCacheNullValues() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        assertThat(cache.get("a", () -> null)).isNull();
+        assertThat(cache.get("a", () -> "loaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    void invalidatingAnotherKeyKeepsConcurrentLoad() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        cache.get("a", () -> {
+            cache.invalidate("b");
+            return "a";
+        });
+
+        assertThat(cache.get("a", () -> "reloaded")).isEqualTo("a");
+    }
+
+    @Test
+    void invalidatingSameKeyDiscardsConcurrentLoad() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        assertThat(cache.get("a", () -> {
+            cache.invalidate("a");
+            return "stale";
+        })).isEqualTo("stale");
+
+        assertThat(cache.get("a", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void invalidateAllDiscardsConcurrentLoads() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        cache.get("a", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(cache.get("a", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void failedLoadDoesNotBlockLaterLoads() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> cache.get("a", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("a", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("a", () -> "reloaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    void getIfPresentReturnsOnlyStoredValues() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        assertThat(cache.getIfPresent("a")).isNull();
+        cache.put("a", "v");
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("v");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
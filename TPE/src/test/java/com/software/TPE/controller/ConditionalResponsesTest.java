@@ -0,0 +1,62 @@
+package com.software.TPE.controller;
+
+import com.software.TPE.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalResponsesTest {
+
+    private static final LocalDateTime MODIFIED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final ConditionalResponses responses =
+            new ConditionalResponses(Duration.ZERO, Duration.ofSeconds(30));
+
+    @Test
+    void pageEtagChangesWhenNextCursorAppears() {
+        List<String> items = List.of("a", "b");
+
+        String lastPage = etag(responses.page(new CursorPage<>(items, null), Function.identity(), item -> MODIFIED_AT,
+                null));
+        String withMore = etag(responses.page(new CursorPage<>(items, "cursor"), Function.identity(),
+                item -> MODIFIED_AT, null));
+
+        assertThat(withMore).isNotEqualTo(lastPage);
+    }
+
+    @Test
+    void pageEtagDependsOnFieldsVariant() {
+        CursorPage<String> page = new CursorPage<>(List.of("a"), null);
+
+        assertThat(etag(responses.page(page, Function.identity(), item -> MODIFIED_AT, "title")))
+                .isNotEqualTo(etag(responses.page(page, Function.identity(), item -> MODIFIED_AT, null)));
+    }
+
+    @Test
+    void publicPageIsCacheableBySharedCaches() {
+        ResponseEntity<CursorPage<String>> response = responses.page(new CursorPage<>(List.of("a"), null),
+                Function.identity(), item -> MODIFIED_AT, null);
+
+        assertThat(response.getHeaders().getCacheControl()).contains("public").contains("s-maxage=30");
+    }
+
+    @Test
+    void privatePageIsNotStoredBySharedCaches() {
+        ResponseEntity<CursorPage<String>> response = responses.privatePage(new CursorPage<>(List.of("a"), null),
+                Function.identity(), item -> MODIFIED_AT, null);
+
+        assertThat(response.getHeaders().getCacheControl()).contains("private").doesNotContain("public")
+                .doesNotContain("s-maxage");
+        assertThat(response.getHeaders().getETag()).isNotNull();
+    }
+
+    private String etag(ResponseEntity<?> response) {
+        return response.getHeaders().getETag();
+    }
+}
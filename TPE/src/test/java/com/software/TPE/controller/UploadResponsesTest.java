@@ -0,0 +1,49 @@
+package com.software.TPE.controller;
+
+import com.software.TPE.dto.ImageVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadResponsesTest {
+
+    private final UploadResponses responses = new UploadResponses(Duration.ofHours(1), DataSize.ofKilobytes(48));
+
+    @Test
+    void malformedIfRangeServesTheWholeFile(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("legacy.png"), "0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/legacy.png");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+        request.addHeader(HttpHeaders.IF_RANGE, "not a date");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        responses.serve("legacy.png", new ImageVariant(file, null), false, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void matchingIfRangeServesThePartialContent(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("legacy.png"), "0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/legacy.png");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+        request.addHeader(HttpHeaders.IF_RANGE, Files.getLastModifiedTime(file).toMillis() + 1000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        responses.serve("legacy.png", new ImageVariant(file, null), false, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("0123");
+    }
+}
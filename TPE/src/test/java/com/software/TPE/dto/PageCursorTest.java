@@ -0,0 +1,45 @@
+package com.software.TPE.dto;
+
+import com.software.TPE.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 10, 0, 0, 123_000_000), "abc|def");
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsTimestampsWithoutSeconds() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 10, 0), "abc");
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> PageCursor.decode("%%%")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode(encode("2024-03-01T10:00"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode(encode("ayer|abc"))).isInstanceOf(BadRequestException.class);
+    }
+
+    private String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.software.TPE.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.software.TPE.model.Post;
+import com.software.TPE.model.PostStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = "test.mongodb.uri", matches = ".+")
+class PostSearchPagingTest {
+
+    private static final String DATABASE = "tpe_search_test";
+    private static final int ARCHIVE_SIZE = 5_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String SELECTIVE_TERM = "terremoto";
+    private static final int SELECTIVE_MATCHES = 60;
+    private static final String[] WORDS = {
+            "gobierno", "ciudad", "economía", "elecciones", "salud", "educación", "deporte", "cultura",
+            "tecnología", "clima", "transporte", "empleo", "seguridad", "justicia", "turismo", "música"
+    };
+    private static final PostStatus[] STATUSES = PostStatus.values();
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private PostRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getProperty("test.mongodb.uri"));
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.dropCollection(Post.class);
+        PostSearchIndex.ensure(mongoTemplate);
+        repository = new PostRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Test
+    void pagesThroughEveryPublishedMatchOnce() {
+        fill(new Random(42));
+
+        List<Post> all = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Double afterScore = null;
+        String afterId = null;
+        while (true) {
+            List<Post> page = repository.searchPublished(SELECTIVE_TERM, afterScore, afterId, PAGE_SIZE + 1);
+            List<Post> items = page.size() > PAGE_SIZE ? page.subList(0, PAGE_SIZE) : page;
+            for (Post post : items) {
+                assertThat(seen.add(post.getId())).isTrue();
+                assertThat(post.getStatus()).isEqualTo(PostStatus.APPROVED);
+            }
+            all.addAll(items);
+            if (page.size() <= PAGE_SIZE) {
+                break;
+            }
+            Post last = items.get(items.size() - 1);
+            afterScore = last.getScore();
+            afterId = last.getId();
+        }
+
+        assertThat(all).hasSize(SELECTIVE_MATCHES);
+    }
+
+    private void fill(Random random) {
+        List<Post> posts = new ArrayList<>(ARCHIVE_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        for (int n = 0; n < ARCHIVE_SIZE; n++) {
+            boolean selective = n < SELECTIVE_MATCHES;
+            posts.add(Post.builder()
+                    .title(sentence(random, 6) + (selective ? " " + SELECTIVE_TERM : ""))
+                    .content(sentence(random, 40))
+                    .category(WORDS[random.nextInt(WORDS.length)])
+                    .authorId("test")
+                    .authorName("Test")
+                    .status(selective ? PostStatus.APPROVED : STATUSES[random.nextInt(STATUSES.length)])
+                    .createdAt(now.minusMinutes(n))
+                    .updatedAt(now.minusMinutes(n))
+                    .build());
+        }
+        mongoTemplate.insert(posts, Post.class);
+    }
+
+    private String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
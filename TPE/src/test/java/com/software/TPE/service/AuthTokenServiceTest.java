@@ -0,0 +1,72 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.AuthenticatedUser;
+import com.software.TPE.model.User;
+import com.software.TPE.model.UserRole;
+import com.software.TPE.model.UserStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthTokenServiceTest {
+
+    private final AuthTokenService service = new AuthTokenService("secreto-de-prueba", Duration.ofHours(1));
+
+    @Test
+    void issuedTokenVerifiesToItsUser() {
+        String token = service.issue(user("u1", UserRole.ADMIN, UserStatus.ACTIVE));
+
+        assertThat(service.verify(token)).contains(new AuthenticatedUser("u1", UserRole.ADMIN, UserStatus.ACTIVE));
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = service.issue(user("u1", UserRole.READER, UserStatus.ACTIVE));
+        String forged = new AuthTokenService("secreto-de-prueba", Duration.ofHours(1))
+                .issue(user("u1", UserRole.ADMIN, UserStatus.ACTIVE));
+        String spliced = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThat(service.verify(spliced)).isEmpty();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String token = new AuthTokenService("otro-secreto", Duration.ofHours(1))
+                .issue(user("u1", UserRole.ADMIN, UserStatus.ACTIVE));
+
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        AuthTokenService expiring = new AuthTokenService("secreto-de-prueba", Duration.ZERO);
+
+        assertThat(expiring.verify(expiring.issue(user("u1", UserRole.ADMIN, UserStatus.ACTIVE)))).isEmpty();
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        String token = service.issue(user("u1", UserRole.ADMIN, UserStatus.ACTIVE));
+
+        service.revoke("u1");
+
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    @Test
+    void tokenOfInactiveUserIsRejected() {
+        assertThat(service.verify(service.issue(user("u1", UserRole.WRITER, UserStatus.BANNED)))).isEmpty();
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThat(service.verify("no-es-un-token")).isEmpty();
+        assertThat(service.verify("%%%.%%%")).isEmpty();
+    }
+
+    private User user(String id, UserRole role, UserStatus status) {
+        return User.builder().id(id).role(role).status(status).build();
+    }
+}
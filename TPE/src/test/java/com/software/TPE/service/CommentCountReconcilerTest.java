@@ -0,0 +1,50 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.CommentCountDrift;
+import com.software.TPE.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentCountReconcilerTest {
+
+    private PostRepository postRepository;
+    private CommentCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        reconciler = new CommentCountReconciler(postRepository);
+    }
+
+    @Test
+    void correctsDriftSeenOnTwoConsecutiveRuns() {
+        CommentCountDrift drift = new CommentCountDrift("p1", 3L, 5);
+        when(postRepository.findCommentCountDrift()).thenReturn(List.of(drift), List.of(drift));
+
+        reconciler.reconcile();
+        verify(postRepository, never()).correctCommentCounts(anyList());
+
+        reconciler.reconcile();
+        verify(postRepository).correctCommentCounts(List.of(drift));
+    }
+
+    @Test
+    void ignoresDriftThatMovedBetweenRuns() {
+        when(postRepository.findCommentCountDrift()).thenReturn(
+                List.of(new CommentCountDrift("p1", 3L, 4)),
+                List.of(new CommentCountDrift("p1", 4L, 5)));
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(postRepository, never()).correctCommentCounts(anyList());
+    }
+}
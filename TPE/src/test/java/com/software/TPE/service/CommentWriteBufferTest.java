@@ -0,0 +1,163 @@
+package com.software.TPE.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.software.TPE.model.Comment;
+import com.software.TPE.repository.CommentRepository;
+import com.software.TPE.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentWriteBufferTest {
+
+    private CommentRepository commentRepository;
+    private PostRepository postRepository;
+    private CommentWriteBuffer buffer;
+    private Path deadLetterFile;
+    private final List<List<String>> attempts = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        commentRepository = mock(CommentRepository.class);
+        postRepository = mock(PostRepository.class);
+        deadLetterFile = tempDir.resolve("dead-letter.jsonl");
+        buffer = new CommentWriteBuffer(commentRepository, postRepository, mock(PostCache.class),
+                new ObjectMapper().findAndRegisterModules(), deadLetterFile.toString(), true, 100, 100,
+                Duration.ofMillis(10), Duration.ofMillis(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retriesOnlyTheCommentsThatFailed() throws InterruptedException {
+        Comment first = comment("c1", "p1", null);
+        Comment second = comment("c2", "p1", null);
+        when(commentRepository.insertUnordered(anyList()))
+                .thenAnswer(invocation -> record(invocation.getArgument(0), List.of(second)))
+                .thenAnswer(invocation -> record(invocation.getArgument(0), List.of()));
+
+        flush(first, second);
+
+        assertThat(attempts).containsExactly(List.of("c1", "c2"), List.of("c2"));
+        verify(postRepository).incrementCommentCounts(Map.of("p1", 2L));
+    }
+
+    @Test
+    void retriesWholeBatchWhenOutcomeIsUnknown() throws InterruptedException {
+        Comment first = comment("c1", "p1", null);
+        when(commentRepository.insertUnordered(anyList()))
+                .thenAnswer(invocation -> {
+                    record(invocation.getArgument(0), List.of());
+                    throw new DataAccessResourceFailureException("timeout");
+                })
+                .thenAnswer(invocation -> record(invocation.getArgument(0), List.of()));
+
+        flush(first);
+
+        assertThat(attempts).containsExactly(List.of("c1"), List.of("c1"));
+        verify(postRepository).incrementCommentCounts(Map.of("p1", 1L));
+    }
+
+    @Test
+    void countsOnlyCommentsThatWereWritten() throws InterruptedException {
+        Comment parent = comment("c1", "p1", null);
+        Comment written = comment("c2", "p1", "c1");
+        Comment lost = comment("c3", "p2", "c1");
+        when(commentRepository.insertUnordered(anyList()))
+                .thenAnswer(invocation -> record(invocation.getArgument(0), List.of(lost)));
+
+        flush(parent, written, lost);
+
+        assertThat(attempts).hasSize(3);
+        verify(postRepository).incrementCommentCounts(Map.of("p1", 2L));
+        verify(commentRepository).incrementReplyCounts(Map.of("c1", 1L));
+    }
+
+    @Test
+    void spillsUnwrittenCommentsAndReplaysThem() throws InterruptedException {
+        Comment lost = comment("c1", "p1", null);
+        when(commentRepository.insertUnordered(anyList()))
+                .thenAnswer(invocation -> record(invocation.getArgument(0), List.of(lost)));
+
+        flush(lost);
+
+        assertThat(deadLetterFile).exists();
+        assertThat(buffer.findPending("c1")).isPresent();
+        verify(postRepository).incrementCommentCounts(Map.of());
+
+        when(commentRepository.insertUnordered(anyList()))
+                .thenAnswer(invocation -> record(invocation.getArgument(0), List.of()));
+        buffer.start();
+        buffer.replayDeadLetters();
+        buffer.stop();
+
+        assertThat(attempts).last().isEqualTo(List.of("c1"));
+        assertThat(Files.exists(deadLetterFile)).isFalse();
+        assertThat(buffer.findPending("c1")).isEmpty();
+        verify(postRepository).incrementCommentCounts(Map.of("p1", 1L));
+    }
+
+    @Test
+    void dropsRepliesToDeletedParents() throws InterruptedException {
+        Comment orphan = comment("c1", "p1", "deleted");
+        Comment nested = comment("c2", "p1", "c1");
+        Comment reply = comment("c3", "p1", "kept");
+        when(commentRepository.findThreadRefsByIds(anyCollection())).thenReturn(List.of(comment("kept", "p1", null)));
+        when(commentRepository.insertUnordered(anyList()))
+                .thenAnswer(invocation -> record(invocation.getArgument(0), List.of()));
+
+        flush(orphan, nested, reply);
+
+        assertThat(attempts).containsExactly(List.of("c3"));
+        verify(postRepository).incrementCommentCounts(Map.of("p1", 1L));
+        verify(commentRepository).incrementReplyCounts(Map.of("kept", 1L));
+        assertThat(buffer.findPending("c1")).isEmpty();
+    }
+
+    @Test
+    void bufferedCommentIsFoundUntilItIsFlushed() throws InterruptedException {
+        Comment parent = comment("c1", "p1", null);
+        List<Boolean> visibleDuringInsert = new ArrayList<>();
+        when(commentRepository.insertUnordered(anyList())).thenAnswer(invocation -> {
+            visibleDuringInsert.add(buffer.findPending("c1").isPresent());
+            return List.of();
+        });
+
+        flush(parent);
+
+        assertThat(visibleDuringInsert).containsExactly(true);
+        assertThat(buffer.findPending("c1")).isEmpty();
+    }
+
+    private void flush(Comment... comments) throws InterruptedException {
+        buffer.start();
+        for (Comment comment : comments) {
+            buffer.enqueue(comment);
+        }
+        buffer.stop();
+    }
+
+    private List<Comment> record(List<Comment> batch, List<Comment> failed) {
+        attempts.add(batch.stream().map(Comment::getId).toList());
+        return failed;
+    }
+
+    private Comment comment(String id, String postId, String parentId) {
+        return Comment.builder().id(id).postId(postId).parentId(parentId).build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.software.TPE.service;
+
+import com.software.TPE.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTest {
+
+    private static final Set<String> SUMMARY_FIELDS = Set.of("title");
+
+    private record Sample(String id, String title, String content) {
+    }
+
+    @Test
+    void noSelectionMeansAllFields() {
+        assertThat(FieldSelection.parse(null, Sample.class, SUMMARY_FIELDS)).isEmpty();
+        assertThat(FieldSelection.parse(" ", Sample.class, SUMMARY_FIELDS)).isEmpty();
+    }
+
+    @Test
+    void summaryExpandsToTheSummaryFields() {
+        assertThat(FieldSelection.parse("Summary", Sample.class, SUMMARY_FIELDS)).isEqualTo(SUMMARY_FIELDS);
+    }
+
+    @Test
+    void keepsRequestedFieldsInOrder() {
+        assertThat(FieldSelection.parse(" content, title,,content ", Sample.class, SUMMARY_FIELDS))
+                .containsExactly("content", "title");
+    }
+
+    @Test
+    void rejectsFieldsOutsideTheResponse() {
+        assertThatThrownBy(() -> FieldSelection.parse("title,password", Sample.class, SUMMARY_FIELDS))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("password");
+    }
+}
@@ -0,0 +1,47 @@
+package com.software.TPE.service;
+
+import com.software.TPE.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    @Test
+    void allowsABurstUpToCapacityPerAddress() {
+        LoginThrottle throttle = new LoginThrottle(100, Duration.ofMinutes(1), 3, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire(null, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.acquire(null, "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.acquire(null, "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void limitsAttemptsPerAccountIgnoringCase() {
+        LoginThrottle throttle = new LoginThrottle(2, Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+
+        throttle.acquire("Ana@Example.com", "10.0.0.1");
+        throttle.acquire("ana@example.com", "10.0.0.2");
+
+        assertThatThrownBy(() -> throttle.acquire("ANA@example.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        LoginThrottle throttle = new LoginThrottle(100, Duration.ofMinutes(1), 2, Duration.ofMillis(200));
+        throttle.acquire(null, "10.0.0.1");
+        throttle.acquire(null, "10.0.0.1");
+        assertThatThrownBy(() -> throttle.acquire(null, "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+
+        Thread.sleep(150);
+
+        assertThatCode(() -> throttle.acquire(null, "10.0.0.1")).doesNotThrowAnyException();
+    }
+}
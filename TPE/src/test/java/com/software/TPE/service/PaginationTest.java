@@ -0,0 +1,51 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.CursorPage;
+import com.software.TPE.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaginationTest {
+
+    @Test
+    void limitFallsBackToDefaultAndIsCapped() {
+        assertThat(Pagination.limit(null)).isEqualTo(Pagination.DEFAULT_LIMIT);
+        assertThat(Pagination.limit(0)).isEqualTo(Pagination.DEFAULT_LIMIT);
+        assertThat(Pagination.limit(5)).isEqualTo(5);
+        assertThat(Pagination.limit(10_000)).isEqualTo(Pagination.MAX_LIMIT);
+    }
+
+    @Test
+    void extraRowBecomesTheNextCursor() {
+        CursorPage<String> page = Pagination.keyPage(List.of("a", "b", "c"), 2, Function.identity(),
+                Function.identity());
+
+        assertThat(page.items()).containsExactly("a", "b");
+        assertThat(Pagination.key(page.nextCursor())).isEqualTo("b");
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        CursorPage<String> page = Pagination.keyPage(List.of("a", "b"), 2, Function.identity(),
+                Function.identity());
+
+        assertThat(page.items()).containsExactly("a", "b");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void missingKeyMeansFirstPage() {
+        assertThat(Pagination.key(null)).isNull();
+        assertThat(Pagination.key("")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedKeys() {
+        assertThatThrownBy(() -> Pagination.key("%%%")).isInstanceOf(BadRequestException.class);
+    }
+}
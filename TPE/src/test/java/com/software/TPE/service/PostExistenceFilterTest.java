@@ -0,0 +1,108 @@
+package com.software.TPE.service;
+
+import com.software.TPE.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostExistenceFilterTest {
+
+    private PostRepository postRepository;
+    private PostExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        filter = new PostExistenceFilter(postRepository, 1000, 0.01, 100, Duration.ofMinutes(1),
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void postMissingFromFilterIsRejectedWithoutQuerying() {
+        rebuildWith("known");
+
+        assertThat(filter.exists("missing")).isFalse();
+
+        verify(postRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void positiveAnswerIsConfirmedOnceAndCached() {
+        rebuildWith("known");
+        when(postRepository.existsById("known")).thenReturn(true);
+
+        assertThat(filter.exists("known")).isTrue();
+        assertThat(filter.exists("known")).isTrue();
+
+        verify(postRepository, times(1)).existsById("known");
+    }
+
+    @Test
+    void postCreatedLocallyIsFoundBeforeNextRebuild() {
+        rebuildWith("known");
+        when(postRepository.existsById("new")).thenReturn(true);
+
+        filter.add("new");
+
+        assertThat(filter.exists("new")).isTrue();
+    }
+
+    @Test
+    void postCreatedElsewhereIsFoundAfterRefresh() {
+        rebuildWith("known");
+        when(postRepository.existsById("elsewhere")).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(1).accept("elsewhere");
+            return null;
+        }).when(postRepository).forEachIdCreatedSince(any(), any());
+
+        filter.refresh();
+
+        assertThat(filter.exists("elsewhere")).isTrue();
+    }
+
+    @Test
+    void negativeAnswerIsCachedBrieflyBeforeFirstRebuild() {
+        when(postRepository.existsById("missing")).thenReturn(false);
+
+        assertThat(filter.exists("missing")).isFalse();
+        assertThat(filter.exists("missing")).isFalse();
+
+        verify(postRepository, times(1)).existsById("missing");
+    }
+
+    @Test
+    void addingPostClearsCachedNegativeAnswer() {
+        when(postRepository.existsById("new")).thenReturn(false, true);
+
+        assertThat(filter.exists("new")).isFalse();
+        filter.add("new");
+
+        assertThat(filter.exists("new")).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuildWith(String... ids) {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            for (String id : ids) {
+                consumer.accept(id);
+            }
+            return null;
+        }).when(postRepository).forEachId(any(Consumer.class));
+        filter.rebuild();
+    }
+}
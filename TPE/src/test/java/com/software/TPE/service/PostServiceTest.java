@@ -0,0 +1,75 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.BulkItemResponse;
+import com.software.TPE.dto.BulkReviewPostRequest;
+import com.software.TPE.model.Post;
+import com.software.TPE.model.PostStatus;
+import com.software.TPE.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostServiceTest {
+
+    private PostRepository postRepository;
+    private PostCache postCache;
+    private PostEventBroadcaster postEventBroadcaster;
+    private PostService service;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        postCache = mock(PostCache.class);
+        postEventBroadcaster = mock(PostEventBroadcaster.class);
+        service = new PostService(postRepository, mock(UserService.class), postCache, postEventBroadcaster,
+                mock(PostExistenceFilter.class));
+    }
+
+    @Test
+    void bulkRejectUsesTheStateItOverwrote() {
+        when(postRepository.updateReview(eq("p1"), isNull(), eq(PostStatus.REJECTED), any(), any(), any(), any()))
+                .thenReturn(Optional.of(post("p1", PostStatus.APPROVED, 4L)));
+
+        List<BulkItemResponse> results = service.reviewPosts(
+                new BulkReviewPostRequest(List.of("p1"), PostStatus.REJECTED, "spam", null, null));
+
+        assertThat(results).containsExactly(new BulkItemResponse("p1", true, null));
+        verify(postCache).evict("p1", true);
+        verify(postEventBroadcaster).publish(eq(PostEventBroadcaster.REMOVED), any());
+    }
+
+    @Test
+    void bulkReviewReportsConflictsPerItem() {
+        when(postRepository.updateReview(eq("p1"), eq(3L), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(postRepository.existsById("p1")).thenReturn(true);
+        when(postRepository.updateReview(eq("p2"), eq(7L), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(post("p2", PostStatus.PENDING, 7L)));
+
+        List<BulkItemResponse> results = service.reviewPosts(new BulkReviewPostRequest(List.of("p1", "p2", "p3"),
+                PostStatus.APPROVED, null, null, Map.of("p1", 3L, "p2", 7L)));
+
+        assertThat(results).extracting(BulkItemResponse::success).containsExactly(false, true, false);
+        assertThat(results.get(0).message()).contains("modificada");
+        assertThat(results.get(2).message()).isEqualTo("Noticia no encontrada");
+        verify(postCache, never()).evict(eq("p1"), any(Boolean.class));
+        verify(postEventBroadcaster).publish(eq(PostEventBroadcaster.PUBLISHED), any());
+        verify(postRepository, never()).existsById("p3");
+    }
+
+    private Post post(String id, PostStatus status, Long version) {
+        return Post.builder().id(id).status(status).version(version).build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.software.TPE.service;
+
+import com.software.TPE.repository.PostRepository;
+import com.software.TPE.repository.PostViewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PostViewServiceTest {
+
+    private PostViewRepository postViewRepository;
+    private PostViewService service;
+    private final List<Map<String, Long>> flushed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        postViewRepository = mock(PostViewRepository.class);
+        service = new PostViewService(postViewRepository, mock(PostRepository.class), Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void viewsRecordedDuringFlushAreKeptForTheNextOne() {
+        doAnswer(invocation -> {
+            flushed.add(new HashMap<>(invocation.getArgument(0)));
+            if (flushed.size() == 1) {
+                service.record("p1");
+            }
+            return null;
+        }).when(postViewRepository).incrementViews(anyMap(), any());
+
+        service.record("p1");
+        service.record("p1");
+        service.flush();
+        service.flush();
+        service.flush();
+
+        assertThat(flushed).containsExactly(Map.of("p1", 2L), Map.of("p1", 1L));
+    }
+
+    @Test
+    void failedFlushKeepsTheViews() {
+        doAnswer(invocation -> {
+            flushed.add(new HashMap<>(invocation.getArgument(0)));
+            if (flushed.size() == 1) {
+                throw new DataAccessResourceFailureException("timeout");
+            }
+            return null;
+        }).when(postViewRepository).incrementViews(anyMap(), any());
+
+        service.record("p1");
+        service.flush();
+        service.record("p1");
+        service.flush();
+
+        assertThat(flushed).containsExactly(Map.of("p1", 1L), Map.of("p1", 2L));
+    }
+}
@@ -0,0 +1,150 @@
+package com.software.TPE.service;
+
+import com.software.TPE.model.LegacyUpload;
+import com.software.TPE.repository.AdvertisementRepository;
+import com.software.TPE.repository.LegacyUploadRepository;
+import com.software.TPE.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UploadGarbageCollectorTest {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(10));
+
+    @TempDir
+    Path uploadDir;
+
+    private PostRepository postRepository;
+    private AdvertisementRepository advertisementRepository;
+    private LegacyUploadRepository legacyUploadRepository;
+    private ImageDerivativeService imageDerivativeService;
+    private SimpleMeterRegistry meterRegistry;
+    private UploadGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        advertisementRepository = mock(AdvertisementRepository.class);
+        legacyUploadRepository = mock(LegacyUploadRepository.class);
+        imageDerivativeService = mock(ImageDerivativeService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new UploadGarbageCollector(postRepository, advertisementRepository, legacyUploadRepository,
+                imageDerivativeService, uploadDir.toString(), true, Duration.ofDays(2), 10_000, 10_000, meterRegistry);
+    }
+
+    @Test
+    void deletesOldUnreferencedUploadsOnly() throws IOException {
+        Path orphan = upload("a", OLD);
+        Path referenced = upload("b", OLD);
+        Path fresh = upload("c", Instant.now());
+        Path legacy = Files.write(uploadDir.resolve("legacy.png"), new byte[10]);
+        Files.setLastModifiedTime(legacy, FileTime.from(OLD));
+        referencedByPosts(url(referenced));
+
+        collector.collect();
+
+        assertThat(orphan).doesNotExist();
+        assertThat(referenced).exists();
+        assertThat(fresh).exists();
+        assertThat(legacy).exists();
+        verify(imageDerivativeService).deleteDerivatives(uploadDir.relativize(orphan).toString().replace('\\', '/'));
+        assertThat(meterRegistry.get("uploads.gc.deleted").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("uploads.gc.reclaimed").counter().count()).isEqualTo(16);
+    }
+
+    @Test
+    void keepsUploadReferencedByAdvertisement() throws IOException {
+        Path referenced = upload("a", OLD);
+        doAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(0).accept(url(referenced));
+            return null;
+        }).when(advertisementRepository).forEachUploadUrl(any());
+
+        collector.collect();
+
+        assertThat(referenced).exists();
+    }
+
+    @Test
+    void keepsUploadTouchedAfterTheSweep() throws IOException {
+        Path reuploaded = upload("a", OLD);
+        AtomicInteger marks = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (marks.incrementAndGet() == 2) {
+                Files.setLastModifiedTime(reuploaded, FileTime.from(Instant.now()));
+            }
+            return null;
+        }).when(postRepository).forEachUploadUrl(any());
+
+        collector.collect();
+
+        assertThat(reuploaded).exists();
+        verify(imageDerivativeService, never()).deleteDerivatives(any());
+    }
+
+    @Test
+    void keepsUploadReferencedByPostCreatedDuringCollection() throws IOException {
+        Path attached = upload("a", OLD);
+        doAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(1).accept(url(attached));
+            return null;
+        }).when(postRepository).forEachUploadUrlCreatedSince(any(), any());
+
+        collector.collect();
+
+        assertThat(attached).exists();
+    }
+
+    @Test
+    void keepsUploadReferencedThroughLegacyName() throws IOException {
+        Path migrated = upload("a", OLD);
+        String path = uploadDir.relativize(migrated).toString().replace('\\', '/');
+        when(legacyUploadRepository.findAll()).thenReturn(List.of(new LegacyUpload("foto-vieja.png", path)));
+        referencedByPosts("http://localhost:8080/uploads/foto-vieja.png");
+
+        collector.collect();
+
+        assertThat(migrated).exists();
+    }
+
+    private Path upload(String hexDigit, Instant modifiedAt) throws IOException {
+        String sha256 = hexDigit.repeat(64);
+        Path file = uploadDir.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4))
+                .resolve(sha256 + ".png");
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[16]);
+        Files.setLastModifiedTime(file, FileTime.from(modifiedAt));
+        return file;
+    }
+
+    private String url(Path file) {
+        return "http://localhost:8080/uploads/" + uploadDir.relativize(file).toString().replace('\\', '/');
+    }
+
+    private void referencedByPosts(String url) {
+        doAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(0).accept(url);
+            return null;
+        }).when(postRepository).forEachUploadUrl(any());
+    }
+}
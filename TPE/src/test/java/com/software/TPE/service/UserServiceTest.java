@@ -0,0 +1,62 @@
+package com.software.TPE.service;
+
+import com.software.TPE.dto.CursorPage;
+import com.software.TPE.dto.UserDto;
+import com.software.TPE.model.User;
+import com.software.TPE.repository.UserNames;
+import com.software.TPE.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private UserRepository userRepository;
+    private UserService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        service = new UserService(userRepository, mock(PasswordHasher.class), mock(LoginThrottle.class),
+                mock(LastLoginRecorder.class), mock(UserCache.class), mock(AuthTokenService.class));
+    }
+
+    @Test
+    void sortsNamesByTheirCaseInsensitiveKey() {
+        when(userRepository.findDirectoryPage(any(), eq(UserNames.KEY), eq(Sort.Direction.ASC), isNull(), isNull(),
+                eq(2), any()))
+                .thenReturn(List.of(user("u1", "alice"), user("u2", "Zoe")));
+
+        CursorPage<UserDto> page = service.findDirectory(null, null, null, "name", null, 1, null);
+
+        assertThat(Pagination.key(page.nextCursor())).isEqualTo("alice|u1");
+    }
+
+    @Test
+    void userWithoutCreationDateYieldsADecodableCursor() {
+        when(userRepository.findDirectoryPage(any(), eq("createdAt"), eq(Sort.Direction.DESC), any(), any(),
+                anyInt(), any()))
+                .thenReturn(List.of(user("u1", "Ana"), user("u2", "Beto")));
+
+        CursorPage<UserDto> page = service.findDirectory(null, null, null, null, null, 1, null);
+        service.findDirectory(null, null, null, null, page.nextCursor(), 1, null);
+
+        verify(userRepository).findDirectoryPage(any(), eq("createdAt"), eq(Sort.Direction.DESC), isNull(),
+                eq("u1"), eq(2), any());
+    }
+
+    private User user(String id, String name) {
+        return User.builder().id(id).name(name).nameKey(UserNames.key(name)).build();
+    }
+}
@@ -17,6 +17,8 @@ function CommentsSection({ postId, user }) {
   const [newComment, setNewComment] = useState('');
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     if (!postId) return;
@@ -29,7 +31,8 @@ function CommentsSection({ postId, user }) {
           throw new Error('No se pudieron cargar los comentarios.');
         }
         const data = await response.json();
-        setComments(Array.isArray(data) ? data : []);
+        setComments(Array.isArray(data?.items) ? data.items : []);
+        setNextCursor(data?.nextCursor ?? null);
       } catch (err) {
         setError(err.message || 'Comentarios no disponibles.');
       } finally {
@@ -40,6 +43,30 @@ function CommentsSection({ postId, user }) {
     fetchComments();
   }, [postId]);
 
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const response = await fetch(
+        `http://localhost:8080/api/comments?postId=${postId}&cursor=${encodeURIComponent(nextCursor)}`
+      );
+      if (!response.ok) {
+        throw new Error('No se pudieron cargar más comentarios.');
+      }
+      const data = await response.json();
+      const items = Array.isArray(data?.items) ? data.items : [];
+      setComments((prev) => {
+        const seen = new Set(prev.map((comment) => comment.id));
+        return [...prev, ...items.filter((comment) => !seen.has(comment.id))];
+      });
+      setNextCursor(data?.nextCursor ?? null);
+    } catch (err) {
+      setError(err.message || 'Comentarios no disponibles.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     if (!user) {
@@ -103,6 +130,16 @@ function CommentsSection({ postId, user }) {
           ))}
         </ul>
       )}
+      {!loading && !error && nextCursor && (
+        <button
+          type="button"
+          className="comments-load-more"
+          onClick={loadMore}
+          disabled={loadingMore}
+        >
+          {loadingMore ? 'Cargando...' : 'Ver más comentarios'}
+        </button>
+      )}
 
       <form className="comment-form" onSubmit={handleSubmit}>
         <textarea
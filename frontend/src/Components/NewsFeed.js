@@ -19,6 +19,8 @@ function NewsFeed({ user }) {
   const [ads, setAds] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     const fetchNews = async () => {
@@ -35,7 +37,8 @@ function NewsFeed({ user }) {
         }
 
         const newsData = await newsResponse.json();
-        setNews(Array.isArray(newsData) ? newsData : []);
+        setNews(Array.isArray(newsData?.items) ? newsData.items : []);
+        setNextCursor(newsData?.nextCursor ?? null);
 
         if (adsResponse.ok) {
           const adsData = await adsResponse.json();
@@ -52,6 +55,32 @@ function NewsFeed({ user }) {
     fetchNews();
   }, []);
 
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const response = await fetch(
+        `http://localhost:8080/api/posts/publicadas?cursor=${encodeURIComponent(nextCursor)}`
+      );
+      if (!response.ok) {
+        throw new Error('No se pudieron cargar más noticias.');
+      }
+      const data = await response.json();
+      const items = Array.isArray(data?.items) ? data.items : [];
+      setNews((prev) => {
+        const seen = new Set(prev.map((item) => item.id));
+        return [...prev, ...items.filter((item) => !seen.has(item.id))];
+      });
+      setNextCursor(data?.nextCursor ?? null);
+    } catch (err) {
+      console.error('Error cargando más noticias:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const approvedAds = useMemo(
     () => ads.filter((ad) => ad.status === 'APPROVED'),
     [ads]
@@ -98,6 +127,16 @@ function NewsFeed({ user }) {
             </div>
           </article>
         ))}
+        {nextCursor && (
+          <button
+            type="button"
+            className="newsfeed-load-more"
+            onClick={loadMore}
+            disabled={loadingMore}
+          >
+            {loadingMore ? 'Cargando...' : 'Cargar más noticias'}
+          </button>
+        )}
       </div>
       <aside className="newsfeed-sidebar">
         <div className="newsfeed-sidebar-header">
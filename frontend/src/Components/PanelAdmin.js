@@ -9,7 +9,7 @@ import './PanelAdmin.css';
  * publicidades y comentarios. Cada sección se presenta en su propia pestaña.
  *
  * Props:
- *  - user (Object): Objeto de usuario autenticado con propiedades id y name.
+ *  - user (Object): Objeto de usuario autenticado con propiedades id, name y token.
  */
 function PanelAdmin({ user }) {
   const [activeTab, setActiveTab] = useState('solicitudes');
@@ -19,10 +19,28 @@ function PanelAdmin({ user }) {
   const [ads, setAds] = useState([]);
   const [comments, setComments] = useState([]);
   const [loading, setLoading] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [noticiasCursor, setNoticiasCursor] = useState(null);
+  const [usuariosCursor, setUsuariosCursor] = useState(null);
+  const [comentariosCursor, setComentariosCursor] = useState(null);
   const [feedbackByPost, setFeedbackByPost] = useState({});
   const [deleteReasons, setDeleteReasons] = useState({});
   const [adReasons, setAdReasons] = useState({});
 
+  // Encabezados con el token de sesión para los endpoints de administración
+  const authHeaders = (headers = {}) =>
+    user?.token ? { ...headers, Authorization: `Bearer ${user.token}` } : headers;
+  // Avisar cuando otro moderador cambió el registro y recargar la lista
+  const avisarConflicto = async (response, recargar) => {
+    if (response.status !== 409) {
+      return false;
+    }
+    const body = await response.json().catch(() => ({}));
+    alert(body.message || 'El registro fue modificado por otro moderador. Se recargará la lista.');
+    recargar();
+    return true;
+  };
+
   // Helpers para fechas
   const parseFecha = (valor) => {
     if (!valor) return null;
@@ -74,7 +92,7 @@ function PanelAdmin({ user }) {
   const fetchSolicitudesEscritores = async () => {
     setLoading(true);
     try {
-      const response = await fetch('http://localhost:8080/api/solicitudes');
+      const response = await fetch('http://localhost:8080/api/solicitudes', { headers: authHeaders() });
       if (response.ok) {
         const data = await response.json();
         setSolicitudesEscritores(data);
@@ -89,10 +107,11 @@ function PanelAdmin({ user }) {
   const fetchNoticiasPendientes = async () => {
     setLoading(true);
     try {
-      const response = await fetch('http://localhost:8080/api/posts/pendientes');
+      const response = await fetch('http://localhost:8080/api/posts/pendientes', { headers: authHeaders() });
       if (response.ok) {
         const data = await response.json();
-        setNoticiasPendientes(data);
+        setNoticiasPendientes(data.items);
+        setNoticiasCursor(data.nextCursor ?? null);
         setFeedbackByPost({});
         setDeleteReasons({});
       }
@@ -102,14 +121,47 @@ function PanelAdmin({ user }) {
       setLoading(false);
     }
   };
+  // Agregar la siguiente página de un listado paginado por cursor
+  const appendPage = async (url, cursor, setItems, setCursor) => {
+    if (!cursor || loadingMore) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const separator = url.includes('?') ? '&' : '?';
+      const response = await fetch(`${url}${separator}cursor=${encodeURIComponent(cursor)}`, {
+        headers: authHeaders(),
+      });
+      if (response.ok) {
+        const data = await response.json();
+        const items = Array.isArray(data?.items) ? data.items : [];
+        setItems((prev) => {
+          const seen = new Set(prev.map((item) => item.id));
+          return [...prev, ...items.filter((item) => !seen.has(item.id))];
+        });
+        setCursor(data?.nextCursor ?? null);
+      }
+    } catch (error) {
+      console.error('Error cargando la siguiente página:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+  const renderLoadMore = (cursor, onLoadMore) =>
+    cursor && (
+      <button className="btn-load-more" onClick={onLoadMore} disabled={loadingMore}>
+        {loadingMore ? 'Cargando...' : 'Cargar más'}
+      </button>
+    );
   // Cargar usuarios
   const fetchUsuarios = async () => {
     setLoading(true);
     try {
-      const response = await fetch('http://localhost:8080/api/users');
+      const response = await fetch('http://localhost:8080/api/users?limit=100', { headers: authHeaders() });
       if (response.ok) {
         const data = await response.json();
-        setUsuarios(data);
+        setUsuarios(Array.isArray(data?.items) ? data.items : []);
+        setUsuariosCursor(data?.nextCursor ?? null);
       }
     } catch (error) {
       console.error('Error cargando usuarios:', error);
@@ -121,7 +173,7 @@ function PanelAdmin({ user }) {
   const fetchAds = async () => {
     setLoading(true);
     try {
-      const response = await fetch('http://localhost:8080/api/advertisements');
+      const response = await fetch('http://localhost:8080/api/advertisements', { headers: authHeaders() });
       if (response.ok) {
         const data = await response.json();
         setAds(Array.isArray(data) ? data : []);
@@ -137,10 +189,11 @@ function PanelAdmin({ user }) {
   const fetchComments = async () => {
     setLoading(true);
     try {
-      const response = await fetch('http://localhost:8080/api/comments');
+      const response = await fetch('http://localhost:8080/api/comments', { headers: authHeaders() });
       if (response.ok) {
         const data = await response.json();
-        setComments(Array.isArray(data) ? data : []);
+        setComments(Array.isArray(data?.items) ? data.items : []);
+        setComentariosCursor(data?.nextCursor ?? null);
       }
     } catch (error) {
       console.error('Error cargando comentarios:', error);
@@ -156,10 +209,16 @@ function PanelAdmin({ user }) {
         `http://localhost:8080/api/solicitudes/${solicitud.id}`,
         {
           method: 'PUT',
-          headers: { 'Content-Type': 'application/json' },
-          body: JSON.stringify({ estado: aprobado ? 'APROBADA' : 'RECHAZADA' }),
+          headers: authHeaders({ 'Content-Type': 'application/json' }),
+          body: JSON.stringify({
+            estado: aprobado ? 'APROBADA' : 'RECHAZADA',
+            version: solicitud.version ?? null,
+          }),
         }
       );
+      if (await avisarConflicto(response, fetchSolicitudesEscritores)) {
+        return;
+      }
       if (response.ok) {
         // Actualizar rol del usuario si es aprobado
         if (aprobado) {
@@ -173,16 +232,19 @@ function PanelAdmin({ user }) {
     }
   };
   // Actualizar rol de usuario
-  const actualizarRolUsuario = async (userId, nuevoRol, { silent = false } = {}) => {
+  const actualizarRolUsuario = async (userId, nuevoRol, { silent = false, version = null } = {}) => {
     try {
       const response = await fetch(
         `http://localhost:8080/api/users/${userId}/role`,
         {
           method: 'PUT',
-          headers: { 'Content-Type': 'application/json' },
-          body: JSON.stringify({ role: nuevoRol }),
+          headers: authHeaders({ 'Content-Type': 'application/json' }),
+          body: JSON.stringify({ role: nuevoRol, version }),
         }
       );
+      if (await avisarConflicto(response, fetchUsuarios)) {
+        return false;
+      }
       if (!response.ok) {
         const message = await response.text();
         throw new Error(message || 'No se pudo actualizar el rol del usuario');
@@ -205,20 +267,25 @@ function PanelAdmin({ user }) {
     }
   };
   // Manejar aprobación/rechazo de noticias
-  const manejarNoticia = async (noticiaId, aprobado) => {
+  const manejarNoticia = async (noticia, aprobado) => {
+    const noticiaId = noticia.id;
     try {
       const feedbackValue = feedbackByPost[noticiaId] || '';
       const response = await fetch(
         `http://localhost:8080/api/posts/${noticiaId}`,
         {
           method: 'PUT',
-          headers: { 'Content-Type': 'application/json' },
+          headers: authHeaders({ 'Content-Type': 'application/json' }),
           body: JSON.stringify({
             status: aprobado ? 'APPROVED' : 'REJECTED',
             feedback: aprobado ? null : feedbackValue || null,
+            version: noticia.version ?? null,
           }),
         }
       );
+      if (await avisarConflicto(response, fetchNoticiasPendientes)) {
+        return;
+      }
       if (response.ok) {
         fetchNoticiasPendientes();
         alert(`Noticia ${aprobado ? 'aprobada' : 'rechazada'} correctamente`);
@@ -235,7 +302,8 @@ function PanelAdmin({ user }) {
     setDeleteReasons((prev) => ({ ...prev, [postId]: value }));
   };
   // Eliminar noticia
-  const eliminarNoticia = async (noticiaId, razon) => {
+  const eliminarNoticia = async (noticia, razon) => {
+    const noticiaId = noticia.id;
     if (!razon.trim()) {
       alert('Por favor, proporciona una razón para la eliminación');
       return;
@@ -245,10 +313,17 @@ function PanelAdmin({ user }) {
         `http://localhost:8080/api/posts/${noticiaId}`,
         {
           method: 'PUT',
-          headers: { 'Content-Type': 'application/json' },
-          body: JSON.stringify({ status: 'REJECTED', deleteReason: razon }),
+          headers: authHeaders({ 'Content-Type': 'application/json' }),
+          body: JSON.stringify({
+            status: 'REJECTED',
+            deleteReason: razon,
+            version: noticia.version ?? null,
+          }),
         }
       );
+      if (await avisarConflicto(response, fetchNoticiasPendientes)) {
+        return;
+      }
       if (response.ok) {
         fetchNoticiasPendientes();
         alert('Noticia eliminada correctamente');
@@ -259,7 +334,8 @@ function PanelAdmin({ user }) {
     }
   };
   // Manejar usuarios
-  const manejarUsuario = async (userId, accion, mensajeExito) => {
+  const manejarUsuario = async (usuario, accion, mensajeExito) => {
+    const userId = usuario.id;
     if (userId === user?.id) {
       alert('No puedes modificar tu propio estado.');
       return;
@@ -269,10 +345,13 @@ function PanelAdmin({ user }) {
         `http://localhost:8080/api/users/${userId}`,
         {
           method: 'PUT',
-          headers: { 'Content-Type': 'application/json' },
-          body: JSON.stringify({ accion }),
+          headers: authHeaders({ 'Content-Type': 'application/json' }),
+          body: JSON.stringify({ accion, version: usuario.version ?? null }),
         }
       );
+      if (await avisarConflicto(response, fetchUsuarios)) {
+        return;
+      }
       if (!response.ok) {
         const message = await response.text();
         throw new Error(message || 'No se pudo actualizar el estado del usuario');
@@ -286,13 +365,13 @@ function PanelAdmin({ user }) {
   };
   const manejarEstadoUsuario = (usuario) => {
     if (usuario.status === 'BANNED') {
-      manejarUsuario(usuario.id, 'UNBAN', 'La suspensión del usuario fue removida correctamente.');
+      manejarUsuario(usuario, 'UNBAN', 'La suspensión del usuario fue removida correctamente.');
       return;
     }
     const estaEliminado = usuario.status === 'DELETED';
     const accion = estaEliminado ? 'UNBAN' : 'DELETE';
     const mensaje = estaEliminado ? 'El usuario fue restaurado correctamente.' : 'El usuario fue eliminado correctamente.';
-    manejarUsuario(usuario.id, accion, mensaje);
+    manejarUsuario(usuario, accion, mensaje);
   };
   // Solicitudes pendientes
   const solicitudesPendientes = solicitudesEscritores.filter(
@@ -300,20 +379,25 @@ function PanelAdmin({ user }) {
   );
 
   // Manejar publicidades (aprobar/rechazar)
-  const manejarPublicidad = async (adId, aprobado) => {
+  const manejarPublicidad = async (ad, aprobado) => {
+    const adId = ad.id;
     const reason = adReasons[adId] || '';
     try {
       const response = await fetch(
         `http://localhost:8080/api/advertisements/${adId}`,
         {
           method: 'PUT',
-          headers: { 'Content-Type': 'application/json' },
+          headers: authHeaders({ 'Content-Type': 'application/json' }),
           body: JSON.stringify({
             status: aprobado ? 'APPROVED' : 'REJECTED',
             rejectionReason: aprobado ? null : reason || null,
+            version: ad.version ?? null,
           }),
         }
       );
+      if (await avisarConflicto(response, fetchAds)) {
+        return;
+      }
       if (response.ok) {
         fetchAds();
         alert(`Publicidad ${aprobado ? 'aprobada' : 'rechazada'} correctamente`);
@@ -331,7 +415,7 @@ function PanelAdmin({ user }) {
     try {
       const response = await fetch(
         `http://localhost:8080/api/advertisements/${adId}`,
-        { method: 'DELETE' }
+        { method: 'DELETE', headers: authHeaders() }
       );
       if (response.ok) {
         fetchAds();
@@ -350,7 +434,7 @@ function PanelAdmin({ user }) {
     try {
       const response = await fetch(
         `http://localhost:8080/api/comments/${commentId}`,
-        { method: 'DELETE' }
+        { method: 'DELETE', headers: authHeaders() }
       );
       if (response.ok) {
         fetchComments();
@@ -481,7 +565,7 @@ function PanelAdmin({ user }) {
                   <div className="noticia-actions">
                     <button
                       className="btn-aprobar"
-                      onClick={() => manejarNoticia(noticia.id, true)}
+                      onClick={() => manejarNoticia(noticia, true)}
                     >
                       ✅ Aprobar Noticia
                     </button>
@@ -494,7 +578,7 @@ function PanelAdmin({ user }) {
                       />
                       <button
                         className="btn-rechazar"
-                        onClick={() => manejarNoticia(noticia.id, false)}
+                        onClick={() => manejarNoticia(noticia, false)}
                       >
                         ❌ Rechazar con Retroalimentación
                       </button>
@@ -509,7 +593,7 @@ function PanelAdmin({ user }) {
                       />
                       <button
                         className="btn-eliminar"
-                        onClick={() => eliminarNoticia(noticia.id, deleteReasons[noticia.id] || '')}
+                        onClick={() => eliminarNoticia(noticia, deleteReasons[noticia.id] || '')}
                       >
                         🗑️ Eliminar Noticia
                       </button>
@@ -518,6 +602,15 @@ function PanelAdmin({ user }) {
                 </div>
               ))
             )}
+            {!loading &&
+              renderLoadMore(noticiasCursor, () =>
+                appendPage(
+                  'http://localhost:8080/api/posts/pendientes',
+                  noticiasCursor,
+                  setNoticiasPendientes,
+                  setNoticiasCursor
+                )
+              )}
           </div>
         )}
         {/* TAB: Gestión de Usuarios */}
@@ -554,7 +647,7 @@ function PanelAdmin({ user }) {
                           {usuario.role === 'READER' && (
                             <button
                               className="btn-promote"
-                              onClick={() => actualizarRolUsuario(usuario.id, 'WRITER')}
+                              onClick={() => actualizarRolUsuario(usuario.id, 'WRITER', { version: usuario.version })}
                             >
                               ➕ Hacer Escritor
                             </button>
@@ -562,7 +655,7 @@ function PanelAdmin({ user }) {
                           {usuario.role === 'WRITER' && (
                             <button
                               className="btn-demote"
-                              onClick={() => actualizarRolUsuario(usuario.id, 'READER')}
+                              onClick={() => actualizarRolUsuario(usuario.id, 'READER', { version: usuario.version })}
                             >
                               ➖ Quitar Escritor
                             </button>
@@ -592,6 +685,15 @@ function PanelAdmin({ user }) {
                 </table>
               </div>
             )}
+            {!loading &&
+              renderLoadMore(usuariosCursor, () =>
+                appendPage(
+                  'http://localhost:8080/api/users?limit=100',
+                  usuariosCursor,
+                  setUsuarios,
+                  setUsuariosCursor
+                )
+              )}
           </div>
         )}
         {/* TAB: Publicidades */}
@@ -656,13 +758,13 @@ function PanelAdmin({ user }) {
                         />
                         <button
                           className="btn-aprobar"
-                          onClick={() => manejarPublicidad(ad.id, true)}
+                          onClick={() => manejarPublicidad(ad, true)}
                         >
                           ✅ Aprobar
                         </button>
                         <button
                           className="btn-rechazar"
-                          onClick={() => manejarPublicidad(ad.id, false)}
+                          onClick={() => manejarPublicidad(ad, false)}
                         >
                           ❌ Rechazar
                         </button>
@@ -705,6 +807,15 @@ function PanelAdmin({ user }) {
                 </div>
               ))
             )}
+            {!loading &&
+              renderLoadMore(comentariosCursor, () =>
+                appendPage(
+                  'http://localhost:8080/api/comments',
+                  comentariosCursor,
+                  setComments,
+                  setComentariosCursor
+                )
+              )}
           </div>
         )}
       </div>
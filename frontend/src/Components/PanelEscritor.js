@@ -18,6 +18,8 @@ function PanelEscritor({ user }) {
   const [activeTab, setActiveTab] = useState('crear');
   const [posts, setPosts] = useState([]);
   const [loading, setLoading] = useState(false);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [uploadingImage, setUploadingImage] = useState(false);
   // Estados para nuevo post
   const [nuevoPost, setNuevoPost] = useState({
@@ -32,6 +34,7 @@ function PanelEscritor({ user }) {
     const userId = user?.id;
     if (!userId) {
       setPosts([]);
+      setNextCursor(null);
       return;
     }
     setLoading(true);
@@ -41,7 +44,8 @@ function PanelEscritor({ user }) {
       );
       if (response.ok) {
         const data = await response.json();
-        setPosts(data);
+        setPosts(data.items);
+        setNextCursor(data.nextCursor ?? null);
       }
     } catch (error) {
       console.error('Error cargando posts:', error);
@@ -49,6 +53,30 @@ function PanelEscritor({ user }) {
       setLoading(false);
     }
   }, [user?.id]);
+  // Cargar la siguiente página de noticias del escritor
+  const loadMorePosts = async () => {
+    if (!user?.id || !nextCursor || loadingMore) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const response = await fetch(
+        `http://localhost:8080/api/posts/escritor/${user.id}?cursor=${encodeURIComponent(nextCursor)}`
+      );
+      if (response.ok) {
+        const data = await response.json();
+        setPosts((prev) => {
+          const seen = new Set(prev.map((post) => post.id));
+          return [...prev, ...data.items.filter((post) => !seen.has(post.id))];
+        });
+        setNextCursor(data.nextCursor ?? null);
+      }
+    } catch (error) {
+      console.error('Error cargando más posts:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
   useEffect(() => {
     fetchPosts();
   }, [fetchPosts]);
@@ -80,12 +108,11 @@ function PanelEscritor({ user }) {
   };
   // Subir imagen al servidor
   const uploadImage = async (imageFile) => {
-    const formData = new FormData();
-    formData.append('image', imageFile);
     try {
       const response = await fetch('http://localhost:8080/api/upload', {
         method: 'POST',
-        body: formData,
+        headers: { 'Content-Type': imageFile.type || 'application/octet-stream' },
+        body: imageFile,
       });
       if (response.ok) {
         const data = await response.json();
@@ -415,6 +442,15 @@ function PanelEscritor({ user }) {
             )}
           </div>
         )}
+        {activeTab !== 'crear' && nextCursor && (
+          <button
+            className="btn-load-more"
+            onClick={loadMorePosts}
+            disabled={loadingMore}
+          >
+            {loadingMore ? 'Cargando...' : 'Cargar más noticias'}
+          </button>
+        )}
       </div>
     </div>
   );
@@ -56,11 +56,10 @@ function PublicidadPanel({ user }) {
 
       if (imageFile) {
         setUploadingImage(true);
-        const formData = new FormData();
-        formData.append('image', imageFile);
         const uploadResponse = await fetch('http://localhost:8080/api/upload', {
           method: 'POST',
-          body: formData,
+          headers: { 'Content-Type': imageFile.type || 'application/octet-stream' },
+          body: imageFile,
         });
 
         if (!uploadResponse.ok) {